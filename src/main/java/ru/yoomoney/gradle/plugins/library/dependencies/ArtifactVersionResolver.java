@@ -1,23 +1,27 @@
 package ru.yoomoney.gradle.plugins.library.dependencies;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import org.apache.commons.io.IOUtils;
-import org.gradle.util.VersionNumber;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.Version;
+import ru.yoomoney.gradle.plugins.library.dependencies.metadata.MavenMetadataService;
 
 import javax.annotation.Nonnull;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import javax.annotation.Nullable;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static java.util.Objects.requireNonNull;
 
@@ -35,62 +39,129 @@ public final class ArtifactVersionResolver {
             new HashSet<>(Arrays.asList(".*alpha.*", ".*beta.*", ".*rc.*", ".*r\\d.*", ".*-b\\d.*", ".*sec.*"));
 
     /**
-     * Urls репозиториев, в которых будем искать артефакты
+     * Urls репозиториев, в которых будем искать артефакты, в порядке приоритета
      */
     @Nonnull
     private final Set<String> repoUrls;
+    /**
+     * Общий для всех проектов сборки сервис получения версий из maven-metadata.xml
+     */
+    @Nonnull
+    private final Provider<MavenMetadataService> metadataService;
+    /**
+     * Поиск версий средствами gradle, используемый перед обращением к maven-metadata.xml
+     */
+    @Nullable
+    private final GradleVersionSource gradleVersionSource;
 
-    public ArtifactVersionResolver(@Nonnull Set<String> repoUrls) {
+    public ArtifactVersionResolver(@Nonnull Set<String> repoUrls, @Nonnull Provider<MavenMetadataService> metadataService) {
         this.repoUrls = requireNonNull(repoUrls, "repoUrls");
+        this.metadataService = requireNonNull(metadataService, "metadataService");
+        this.gradleVersionSource = null;
     }
 
     /**
-     * Метод возвращает последнюю версию библиотеки, найденную в nexus
+     * Конструктор класса, при пакетном поиске версии сначала ищутся средствами gradle
+     * в кэше разрешенных зависимостей, и только ненайденные - в maven-metadata.xml
      *
-     * @param depGroup группа артифакта
-     * @param depName  имя артифакта
-     * @return последнюю версию библиотеки или Optional.empty(), если версия не найдена
+     * @param repoUrls        urls репозиториев, в которых будем искать артефакты
+     * @param metadataService сервис получения версий из maven-metadata.xml
+     * @param project         проект, репозитории которого используются для поиска версий средствами gradle
      */
-    public Optional<String> getArtifactLatestVersion(String depGroup, String depName) {
-        String path = depGroup.replace('.', '/');
-        for (String repoUrl : repoUrls) {
-            Optional<NodeList> versionsNodeList = getVersions(path, repoUrl, depName);
-
-            if (versionsNodeList.isPresent()) {
-                return IntStream.range(0, versionsNodeList.get().getLength())
-                        .mapToObj(index -> versionsNodeList.get().item(index).getFirstChild().getNodeValue())
+    public ArtifactVersionResolver(@Nonnull Set<String> repoUrls, @Nonnull Provider<MavenMetadataService> metadataService,
+                                   @Nonnull Project project) {
+        this.repoUrls = requireNonNull(repoUrls, "repoUrls");
+        this.metadataService = requireNonNull(metadataService, "metadataService");
+        this.gradleVersionSource = new GradleVersionSource(project, ArtifactVersionResolver::isValidVersion);
+    }
+
+    /**
+     * Асинхронно ищет последнюю версию библиотеки, найденную в nexus.
+     * Поиск выполняется в общем пуле потоков загрузки метаданных, размер которого ограничивает число одновременных запросов,
+     * порядок опроса репозиториев определяется настройкой repositoryLookupMode.
+     *
+     * @param libraryName имя библиотеки
+     * @return последняя версия библиотеки или Optional.empty(), если версия не найдена
+     */
+    public CompletableFuture<Optional<String>> getArtifactLatestVersionAsync(@Nonnull LibraryName libraryName) {
+        String metadataPath = String.format("%s/%s/maven-metadata.xml",
+                libraryName.getGroup().replace('.', '/'), libraryName.getName());
+        return metadataService.get().findVersionsAsync(repoUrls, metadataPath)
+                .thenApply(versions -> versions.flatMap(list -> list.stream()
                         .filter(ArtifactVersionResolver::isValidVersion)
-                        .max(ArtifactVersionResolver::versionCompare);
-            }
-        }
-        return Optional.empty();
+                        .max(ArtifactVersionResolver::versionCompare)));
     }
 
-    private static int versionCompare(String o1, String o2) {
-        return VersionNumber.parse(o1).compareTo(VersionNumber.parse(o2));
+    /**
+     * Ищет последние версии переданных библиотек, выполняя запросы к репозиториям параллельно.
+     * Если задан поиск средствами gradle, то maven-metadata.xml запрашиваются только для библиотек,
+     * версии которых gradle не нашел. В автономном режиме gradle не используется, так как он обращается к репозиториям
+     * без учета настройки offline плагина.
+     *
+     * @param libraryNames имена библиотек
+     * @return отображение имени библиотеки в ее последнюю версию, Optional.empty() если версия не найдена
+     */
+    public Map<LibraryName, Optional<String>> getArtifactsLatestVersions(@Nonnull Collection<LibraryName> libraryNames) {
+        Set<LibraryName> distinctLibraryNames = new LinkedHashSet<>(libraryNames);
+        Map<LibraryName, String> resolvedByGradle = findLatestVersionsWithGradle(distinctLibraryNames);
+
+        Map<LibraryName, CompletableFuture<Optional<String>>> futures = new LinkedHashMap<>();
+        distinctLibraryNames.forEach(libraryName -> futures.put(libraryName,
+                resolvedByGradle.containsKey(libraryName)
+                        ? CompletableFuture.completedFuture(Optional.of(resolvedByGradle.get(libraryName)))
+                        : getArtifactLatestVersionAsync(libraryName)));
+
+        Map<LibraryName, Optional<String>> latestVersions = new LinkedHashMap<>();
+        futures.forEach((libraryName, future) -> {
+            try {
+                latestVersions.put(libraryName, future.join());
+            } catch (CompletionException e) {
+                log.warn("Can't get latest dependency version: {}", libraryName, e.getCause());
+                latestVersions.put(libraryName, Optional.empty());
+            }
+        });
+        return latestVersions;
     }
 
-    @SuppressFBWarnings("XXE_DOCUMENT")
-    private Optional<NodeList> getVersions(String path, String repoUrl, String depName) {
-        Document doc;
+    /**
+     * Возвращает репозитории, отключенные до конца сборки из-за идущих подряд ошибок обращения к ним
+     *
+     * @return отображение url репозитория в причину отключения
+     */
+    public Map<String, String> getDisabledRepositories() {
+        return metadataService.get().getDisabledRepositories();
+    }
 
-        try {
-            String url = String.format("%s%s/%s/maven-metadata.xml",
-                                       repoUrl, path, depName);
-            String content = IOUtils.toString(new URL(url).openStream(), StandardCharsets.UTF_8.name());
+    /**
+     * Признак автономного режима, в котором версии ищутся только в локально закэшированных метаданных
+     *
+     * @return true, если включен автономный режим
+     */
+    public boolean isOffline() {
+        return metadataService.get().isOffline();
+    }
 
-            DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder documentBuilder = dbFactory.newDocumentBuilder();
-            doc = documentBuilder.parse(IOUtils.toInputStream(content));
+    /**
+     * Возвращает запросы метаданных, пропущенные в автономном режиме из-за отсутствия метаданных в кэше
+     *
+     * @return список url пропущенных maven-metadata.xml
+     */
+    public List<String> getSkippedLookups() {
+        return metadataService.get().getSkippedLookups();
+    }
 
-        } catch (Exception e) {
-            log.info("Can't get or parse maven-metadata.xml, will try next repository: repository={}, dependency={}", repoUrl, depName);
-            return Optional.empty();
+    private Map<LibraryName, String> findLatestVersionsWithGradle(Set<LibraryName> libraryNames) {
+        if (gradleVersionSource == null || isOffline()) {
+            return Collections.emptyMap();
         }
+        Map<LibraryName, String> resolvedByGradle = gradleVersionSource.findLatestVersions(libraryNames);
+        log.info("Latest versions resolved with gradle: {} of {}, others are looked up in maven-metadata.xml",
+                resolvedByGradle.size(), libraryNames.size());
+        return resolvedByGradle;
+    }
 
-        doc.getDocumentElement().normalize();
-
-        return Optional.of(doc.getElementsByTagName("version"));
+    private static int versionCompare(String o1, String o2) {
+        return Version.parse(o1).compareTo(Version.parse(o2));
     }
 
     private static boolean isValidVersion(String version) {
@@ -1,14 +1,24 @@
 package ru.yoomoney.gradle.plugins.library.dependencies;
 
 import io.spring.gradle.dependencymanagement.DependencyManagementPlugin;
+import org.gradle.api.NamedDomainObjectSet;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.repositories.MavenArtifactRepository;
+import org.gradle.api.plugins.JavaBasePlugin;
 import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
+import ru.yoomoney.gradle.plugins.library.dependencies.analysis.FixedDependencies;
+import ru.yoomoney.gradle.plugins.library.dependencies.checkversion.CheckCrossProjectMajorVersionConflictsTask;
+import ru.yoomoney.gradle.plugins.library.dependencies.checkversion.CheckMajorVersionConflictsTask;
 import ru.yoomoney.gradle.plugins.library.dependencies.checkversion.MajorVersionCheckerExtension;
+import ru.yoomoney.gradle.plugins.library.dependencies.checkversion.MajorVersionIndexService;
 import ru.yoomoney.gradle.plugins.library.dependencies.checkversion.VersionChecker;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePoolService;
 import ru.yoomoney.gradle.plugins.library.dependencies.forbiddenartifacts.CheckForbiddenDependenciesTask;
 import ru.yoomoney.gradle.plugins.library.dependencies.forbiddenartifacts.ForbiddenDependenciesExtension;
+import ru.yoomoney.gradle.plugins.library.dependencies.metadata.MavenMetadataService;
 import ru.yoomoney.gradle.plugins.library.dependencies.showdependencies.PrintActualDependenciesByGroupTask;
 import ru.yoomoney.gradle.plugins.library.dependencies.showdependencies.PrintAllActualDependenciesTask;
 import ru.yoomoney.gradle.plugins.library.dependencies.showdependencies.PrintDependenciesByGroupTask;
@@ -17,7 +27,12 @@ import ru.yoomoney.gradle.plugins.library.dependencies.snapshot.CheckSnapshotsDe
 
 import javax.annotation.Nonnull;
 
+import java.io.File;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
@@ -69,6 +84,9 @@ public class CheckDependenciesPlugin implements Plugin<Project> {
     private static final String PRINT_ACTUAL_DEPENDENCIES_TASK_NAME = "printActualDependencies";
     private static final String SNAPSHOT_CHECK_TASK_NAME = "checkSnapshotsDependencies";
     private static final String FORBIDDEN_DEPENDENCIES_CHECK_TASK_NAME = "checkForbiddenDependencies";
+    private static final String MAJOR_VERSION_CONFLICTS_CHECK_TASK_NAME = "checkMajorVersionConflicts";
+    private static final String CROSS_PROJECT_MAJOR_VERSION_CONFLICTS_CHECK_TASK_NAME = "checkCrossProjectMajorVersionConflicts";
+    private static final String COLLECT_REQUESTED_VERSIONS_TASK_NAME = "collectRequestedLibraryVersions";
 
     private static final String PRINT_DEPENDENCIES_TASK_GROUP = "printDependenciesVersions";
 
@@ -80,6 +98,11 @@ public class CheckDependenciesPlugin implements Plugin<Project> {
     private static final String MAJOR_VERSION_CHECKER_EXTENSION_NAME = "majorVersionChecker";
     private static final String FORBIDDEN_DEPENDENCIES_EXTENSION_NAME = "forbiddenDependenciesChecker";
 
+    private static final String MAVEN_METADATA_SERVICE_NAME = "checkDependenciesMavenMetadata";
+    private static final String MAJOR_VERSION_INDEX_SERVICE_NAME = "checkDependenciesMajorVersionIndex";
+    private static final String NAME_POOL_SERVICE_NAME = "checkDependenciesNamePool";
+    private static final String METADATA_CACHE_DIR = "caches/check-dependencies-plugin/maven-metadata";
+
     @Override
     public void apply(Project target) {
         target.getPluginManager().apply(DependencyManagementPlugin.class);
@@ -87,19 +110,38 @@ public class CheckDependenciesPlugin implements Plugin<Project> {
         CheckDependenciesPluginExtension checkDependenciesExtension = new CheckDependenciesPluginExtension();
         target.getExtensions().add(CHECK_DEPENDENCIES_EXTENSION_NAME, checkDependenciesExtension);
 
+        Provider<NamePoolService> namePoolService = target.getGradle().getSharedServices()
+                .registerIfAbsent(NAME_POOL_SERVICE_NAME, NamePoolService.class, spec -> {
+                });
+
         CheckDependenciesTask task = createCheckDependenciesTask(target);
+        task.setNamePoolService(namePoolService);
+        task.setReportFile(new File(target.getBuildDir(), "report/dependencies/library_conflicts.txt"));
+        task.getResultsDir().convention(target.getLayout().getBuildDirectory().dir("check-dependencies/results"));
+        task.usesService(namePoolService);
         target.getTasks().getByName(JavaPlugin.COMPILE_JAVA_TASK_NAME).dependsOn(task);
 
         task.getConventionMapping().map("includedConfigurations",
                 () -> checkDependenciesExtension.includedConfigurations);
+        task.getConventionMapping().map("maxConflictPaths",
+                () -> checkDependenciesExtension.maxConflictPaths);
 
         MajorVersionCheckerExtension majorVersionCheckerExtension = new MajorVersionCheckerExtension();
         target.getExtensions().add(MAJOR_VERSION_CHECKER_EXTENSION_NAME, majorVersionCheckerExtension);
 
+        // Задача корневого проекта создается при подключении плагина, а не после вычисления проекта,
+        // чтобы ее можно было настроить в build.gradle корневого проекта
+        CheckCrossProjectMajorVersionConflictsTask crossProjectTask = VersionChecker.registerCrossProjectCheckTask(
+                target, CROSS_PROJECT_MAJOR_VERSION_CONFLICTS_CHECK_TASK_NAME, namePoolService);
+        crossProjectTask.setGroup(VERIFICATION_TASK_GROUP);
+        crossProjectTask.setDescription("Checks major version conflicts of dependencies between all projects of the build");
+
         ForbiddenDependenciesExtension forbiddenDependenciesExtension = new ForbiddenDependenciesExtension();
         target.getExtensions().add(FORBIDDEN_DEPENDENCIES_EXTENSION_NAME, forbiddenDependenciesExtension);
 
         CheckForbiddenDependenciesTask checkForbiddenDependenciesTask = createCheckForbiddenDependenciesTask(target);
+        checkForbiddenDependenciesTask.setNamePoolService(namePoolService);
+        checkForbiddenDependenciesTask.usesService(namePoolService);
         task.dependsOn(checkForbiddenDependenciesTask);
 
         // Запуск проверки конфликтов мажорных версий и вывода новых версий зависимостей
@@ -107,17 +149,40 @@ public class CheckDependenciesPlugin implements Plugin<Project> {
             Set<String> urls = project.getRepositories().stream()
                     .filter(repo -> repo instanceof MavenArtifactRepository)
                     .map(repo -> ((MavenArtifactRepository) repo).getUrl().toString())
-                    .collect(Collectors.toSet());
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+
+            configureCheckedConfigurations(project, task);
 
-            ArtifactVersionResolver artifactVersionResolver = new ArtifactVersionResolver(urls);
+            Provider<MavenMetadataService> metadataService = registerMavenMetadataService(project, checkDependenciesExtension);
+            ArtifactVersionResolver artifactVersionResolver = checkDependenciesExtension.resolveVersionsWithGradle
+                    ? new ArtifactVersionResolver(urls, metadataService, project)
+                    : new ArtifactVersionResolver(urls, metadataService);
 
             if (majorVersionCheckerExtension.enabled) {
-                        VersionChecker.runCheckVersion(project, majorVersionCheckerExtension, artifactVersionResolver);
+                        Provider<MajorVersionIndexService> majorVersionIndex = project.getGradle().getSharedServices()
+                                .registerIfAbsent(MAJOR_VERSION_INDEX_SERVICE_NAME, MajorVersionIndexService.class, spec -> {
+                                });
+                        VersionChecker.createCollectRequestedVersionsTask(project, COLLECT_REQUESTED_VERSIONS_TASK_NAME,
+                                majorVersionIndex);
+
+                        if (majorVersionCheckerExtension.checkInTask) {
+                            CheckMajorVersionConflictsTask checkVersionTask = VersionChecker.createCheckVersionTask(
+                                    project, majorVersionCheckerExtension, MAJOR_VERSION_CONFLICTS_CHECK_TASK_NAME,
+                                    majorVersionIndex, namePoolService);
+                            checkVersionTask.setGroup(VERIFICATION_TASK_GROUP);
+                            checkVersionTask.setDescription("Checks major version conflicts of dependencies");
+                            project.getTasks().getByName(JavaBasePlugin.CHECK_TASK_NAME).dependsOn(checkVersionTask);
+                        } else {
+                            VersionChecker.runCheckVersion(project, majorVersionCheckerExtension,
+                                    namePoolService.get().getNamePool());
+                        }
                     }
 
                     createPrintNewDependenciesGroupTask(target, checkDependenciesExtension.includeGroupIdForPrintDependencies,
-                                                              artifactVersionResolver);
-                    createPrintNewDependenciesTask(target, artifactVersionResolver);
+                                                              artifactVersionResolver)
+                            .usesService(metadataService);
+                    createPrintNewDependenciesTask(target, artifactVersionResolver)
+                            .usesService(metadataService);
 
                     createPrintActualDependenciesByGroupTask(target, checkDependenciesExtension.includeGroupIdForPrintDependencies)
                             .dependsOn(task);
@@ -131,6 +196,71 @@ public class CheckDependenciesPlugin implements Plugin<Project> {
         );
     }
 
+    /**
+     * Задает задаче проверки версий библиотек исходные данные проверяемых конфигураций.
+     * Задача получает только провайдеры результатов резолва, зафиксированных и объявленных версий,
+     * поэтому при выполнении не обращается к проекту и совместима с configuration cache
+     *
+     * @param project проект
+     * @param task задача проверки зависимостей
+     */
+    private static void configureCheckedConfigurations(@Nonnull Project project, @Nonnull CheckDependenciesTask task) {
+        List<String> included = task.getIncludedConfigurations();
+        NamedDomainObjectSet<Configuration> configurations = project.getConfigurations().matching(configuration ->
+                included != null && included.contains(configuration.getName()));
+
+        task.setManagedVersions(FixedDependencies.provideManagedVersions(project, configurations));
+        task.setDeclaredDependencies(project.provider(() -> collectDeclaredDependencies(configurations)));
+        configurations.all(configuration -> task.addResolutionRoot(configuration.getName(),
+                configuration.getIncoming().getResolutionResult().getRootComponent()));
+    }
+
+    /**
+     * Собирает объявленные в конфигурациях зависимости с указанной версией в формате group:name:version
+     */
+    private static Map<String, List<String>> collectDeclaredDependencies(@Nonnull Iterable<Configuration> configurations) {
+        Map<String, List<String>> declaredDependencies = new TreeMap<>();
+        configurations.forEach(configuration -> declaredDependencies.put(configuration.getName(),
+                configuration.getAllDependencies().stream()
+                        .filter(dependency -> dependency.getGroup() != null)
+                        .filter(dependency -> dependency.getVersion() != null && !dependency.getVersion().isEmpty())
+                        .map(dependency -> dependency.getGroup() + ":" + dependency.getName() + ":"
+                                + dependency.getVersion())
+                        .collect(Collectors.toList())));
+        return declaredDependencies;
+    }
+
+    /**
+     * Регистрирует общий для всех проектов сборки сервис получения версий из maven-metadata.xml.
+     * Сервис создается один раз за сборку, поэтому настройки кэша берутся из первого проекта, в котором подключен плагин.
+     *
+     * @param project проект
+     * @param extension настройки плагина
+     * @return сервис получения версий из maven-metadata.xml
+     */
+    private static Provider<MavenMetadataService> registerMavenMetadataService(
+            @Nonnull Project project,
+            @Nonnull CheckDependenciesPluginExtension extension) {
+        File cacheDir = extension.metadataCacheDir != null
+                ? extension.metadataCacheDir
+                : new File(project.getGradle().getGradleUserHomeDir(), METADATA_CACHE_DIR);
+
+        return project.getGradle().getSharedServices().registerIfAbsent(MAVEN_METADATA_SERVICE_NAME,
+                MavenMetadataService.class, spec -> {
+                    spec.getParameters().getCacheDir().set(cacheDir);
+                    spec.getParameters().getCacheTtlMinutes().set(extension.metadataCacheTtlMinutes);
+                    spec.getParameters().getNotFoundCacheTtlMinutes().set(extension.metadataNotFoundCacheTtlMinutes);
+                    spec.getParameters().getFetchParallelism().set(extension.metadataFetchParallelism);
+                    spec.getParameters().getLookupMode().set(extension.repositoryLookupMode);
+                    spec.getParameters().getHedgeDelayMillis().set(extension.repositoryHedgeDelayMillis);
+                    spec.getParameters().getConnectTimeoutMillis().set(extension.metadataConnectTimeoutMillis);
+                    spec.getParameters().getReadTimeoutMillis().set(extension.metadataReadTimeoutMillis);
+                    spec.getParameters().getRepositoryFailureThreshold().set(extension.repositoryFailureThreshold);
+                    spec.getParameters().getOffline().set(
+                            extension.offline || project.getGradle().getStartParameter().isOffline());
+                });
+    }
+
     /**
      * Создает задачу проверки версий библиотек
      *
@@ -151,15 +281,17 @@ public class CheckDependenciesPlugin implements Plugin<Project> {
      *
      * @param project проект
      */
-    private static void createPrintNewDependenciesGroupTask(@Nonnull Project project,
-                                                            @Nonnull Set<String> includeGroupIdPrefixes,
-                                                            @Nonnull ArtifactVersionResolver artifactVersionResolver) {
+    private static PrintDependenciesByGroupTask createPrintNewDependenciesGroupTask(
+            @Nonnull Project project,
+            @Nonnull Set<String> includeGroupIdPrefixes,
+            @Nonnull ArtifactVersionResolver artifactVersionResolver) {
         PrintDependenciesByGroupTask task = project.getTasks()
                 .create(PRINT_NEW_DEPENDENCIES_TASK_NAME_BY_GROUP, PrintDependenciesByGroupTask.class);
         task.setGroup(PRINT_DEPENDENCIES_TASK_GROUP);
         task.setDescription("Prints new available versions of dependencies by group list");
         task.setIncludeGroupIdPrefixes(includeGroupIdPrefixes);
         task.setArtifactVersionResolver(artifactVersionResolver);
+        return task;
     }
 
     /**
@@ -198,14 +330,15 @@ public class CheckDependenciesPlugin implements Plugin<Project> {
      *
      * @param project проект
      */
-    private static void createPrintNewDependenciesTask(@Nonnull Project project,
-                                                       @Nonnull ArtifactVersionResolver artifactVersionResolver) {
+    private static PrintNewDependenciesVersionsTask createPrintNewDependenciesTask(
+            @Nonnull Project project,
+            @Nonnull ArtifactVersionResolver artifactVersionResolver) {
         PrintNewDependenciesVersionsTask task = project.getTasks()
                 .create(PRINT_NEW_DEPENDENCIES_TASK_NAME, PrintNewDependenciesVersionsTask.class);
         task.setGroup(PRINT_DEPENDENCIES_TASK_GROUP);
         task.setDescription("Prints new available versions of dependencies");
         task.setArtifactVersionResolver(artifactVersionResolver);
-
+        return task;
     }
 
 
@@ -1,7 +1,9 @@
 package ru.yoomoney.gradle.plugins.library.dependencies;
 
 import org.gradle.api.tasks.Input;
+import ru.yoomoney.gradle.plugins.library.dependencies.metadata.RepositoryLookupMode;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -17,6 +19,11 @@ import java.util.Set;
  */
 @SuppressWarnings("WeakerAccess")
 public class CheckDependenciesPluginExtension {
+    /**
+     * Число путей до библиотеки, сохраняемых для конфликта версий, по умолчанию
+     */
+    static final int DEFAULT_MAX_CONFLICT_PATHS = 10;
+
     /**
      * Список конфигурация для которых не требуется выполнять проверку версий библиотек.
      */
@@ -33,10 +40,80 @@ public class CheckDependenciesPluginExtension {
     public List<String> includedConfigurations = Arrays.asList("componentTestCompileClasspath", "slowTestCompileClasspath",
             "testCompileClasspath", "default");
 
+    /**
+     * Максимальное число путей до библиотеки, сохраняемых для каждого найденного конфликта версий.
+     * Сохраняются первые найденные пути, упорядоченные по длине, остальные отбрасываются сразу при обнаружении
+     */
+    public int maxConflictPaths = DEFAULT_MAX_CONFLICT_PATHS;
+
     /**
      * Список префиксов groupId библиотек, для которых требуется вывести новые доступные версии зависимостей
      * в таске printNewDependenciesVersionsByIncludeList
      */
     @Input
     public Set<String> includeGroupIdForPrintDependencies = new HashSet<>();
+
+    /**
+     * Директория для кэширования maven-metadata.xml, загруженных при поиске новых версий библиотек.
+     * По умолчанию используется директория caches/check-dependencies-plugin/maven-metadata в GRADLE_USER_HOME
+     */
+    public File metadataCacheDir;
+
+    /**
+     * Время в минутах, в течение которого закэшированный maven-metadata.xml используется без обращения к репозиторию.
+     * По истечении этого времени метаданные перепроверяются в репозитории условным запросом
+     */
+    public long metadataCacheTtlMinutes = 60;
+
+    /**
+     * Время в минутах, в течение которого не выполняется повторный запрос maven-metadata.xml,
+     * отсутствующего в репозитории
+     */
+    public long metadataNotFoundCacheTtlMinutes = 24 * 60;
+
+    /**
+     * Максимальное число одновременных запросов maven-metadata.xml к репозиториям при поиске новых версий библиотек
+     */
+    public int metadataFetchParallelism = 16;
+
+    /**
+     * Способ опроса нескольких репозиториев при поиске новых версий библиотек.
+     * По умолчанию репозитории опрашиваются последовательно, режим HEDGED включается явно.
+     * В режиме HEDGED найденные версии зависят от того, какой репозиторий ответит первым
+     */
+    public RepositoryLookupMode repositoryLookupMode = RepositoryLookupMode.SEQUENTIAL;
+
+    /**
+     * Время в миллисекундах, после которого в режиме HEDGED при отсутствии ответа от репозитория
+     * параллельно опрашивается следующий репозиторий
+     */
+    public long repositoryHedgeDelayMillis = 1000;
+
+    /**
+     * Таймаут установки соединения с репозиторием в миллисекундах при загрузке maven-metadata.xml
+     */
+    public long metadataConnectTimeoutMillis = 10_000;
+
+    /**
+     * Таймаут чтения ответа репозитория в миллисекундах при загрузке maven-metadata.xml
+     */
+    public long metadataReadTimeoutMillis = 30_000;
+
+    /**
+     * Число идущих подряд ошибок или таймаутов обращения к репозиторию, после которого репозиторий
+     * не опрашивается до конца сборки
+     */
+    public int repositoryFailureThreshold = 3;
+
+    /**
+     * Автономный режим: новые версии библиотек ищутся только в локально закэшированных maven-metadata.xml,
+     * обращения к http-репозиториям не выполняются. Включается также при запуске gradle с флагом --offline
+     */
+    public boolean offline;
+
+    /**
+     * Искать новые версии библиотек сначала средствами gradle, используя его кэш списков версий (~/.gradle/caches/modules-2),
+     * и загружать maven-metadata.xml только для библиотек, версии которых gradle не нашел
+     */
+    public boolean resolveVersionsWithGradle = true;
 }
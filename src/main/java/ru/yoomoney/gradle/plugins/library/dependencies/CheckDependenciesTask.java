@@ -1,89 +1,277 @@
 package ru.yoomoney.gradle.plugins.library.dependencies;
 
-import org.gradle.api.artifacts.Configuration;
-import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.internal.ConventionTask;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.LocalState;
+import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ru.yoomoney.gradle.plugins.library.dependencies.analysis.ConfigurationDependencies;
+import ru.yoomoney.gradle.plugins.library.dependencies.analysis.DependenciesFingerprint;
 import ru.yoomoney.gradle.plugins.library.dependencies.analysis.FixedDependencies;
-import ru.yoomoney.gradle.plugins.library.dependencies.analysis.conflicts.ConfigurationConflictsAnalyzer;
-import ru.yoomoney.gradle.plugins.library.dependencies.analysis.conflicts.ConflictedLibraryInfo;
-import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactNameSet;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePoolService;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
  * Задача на проверку согласованности изменений версий используемых библиотек. Если изменение версии библиотеки связано
  * с фиксацией версии в <i>Spring Dependency Management</i> плагине, то останавливает билд и выводит список библиотек,
  * у которых изменение версий не запланировано.
+ * <p>
+ * Входными данными задачи являются отпечатки графов зависимостей и зафиксированных версий проверяемых конфигураций,
+ * а результатом - отчет о найденных конфликтах. Если зависимости не изменились, задача не выполняется повторно,
+ * а ее результат может быть взят из кэша сборки.
+ * <p>
+ * Исходные данные задаются при конфигурации провайдерами результатов резолва, зафиксированных и объявленных версий,
+ * поэтому при выполнении задача не обращается к проекту и совместима с configuration cache.
  *
  * @author Brovin Yaroslav
  * @since 27.01.2017
  */
+@CacheableTask
 public class CheckDependenciesTask extends ConventionTask {
 
     private final Logger log = LoggerFactory.getLogger(CheckDependenciesTask.class);
 
-    private FixedDependencies fixedDependencies;
+    private final WorkerExecutor workerExecutor;
 
-    @Input
     private List<String> includedConfigurations;
 
+    private Integer maxConflictPaths;
+
+    private File reportFile;
+
+    private final DirectoryProperty resultsDir;
+
+    private Provider<NamePoolService> namePoolService;
+
+    /**
+     * Зафиксированные версии библиотек проверяемых конфигураций
+     */
+    private Provider<Map<String, Map<String, String>>> managedVersions;
+
+    private Provider<Map<String, List<String>>> declaredDependencies;
+
+    private final Map<String, Provider<ResolvedComponentResult>> resolutionRoots = new LinkedHashMap<>();
+
+    /**
+     * Исходные данные проверки, загружаются один раз при первом обращении
+     */
+    private transient CheckedConfigurations checkedConfigurations;
+
+    /**
+     * Конструктор класса
+     *
+     * @param workerExecutor исполнитель параллельного анализа конфигураций
+     * @param objectFactory  фабрика свойств задачи
+     */
+    @Inject
+    public CheckDependenciesTask(WorkerExecutor workerExecutor, ObjectFactory objectFactory) {
+        this.workerExecutor = workerExecutor;
+        this.resultsDir = objectFactory.directoryProperty();
+    }
+
     /**
      * Запускается при выполнении таски
      */
     @TaskAction
     public void check() {
-        fixedDependencies = FixedDependencies.from(getProject());
-
-        for (Configuration configuration : getCheckedConfigurations()) {
-            List<ConflictedLibraryInfo> conflictedLibraries = calculateConflictedVersionsLibrariesFor(configuration).stream()
-                    .filter(conflict -> !conflict.getVersion().isEmpty())
-                    .collect(Collectors.toList());
-            if (!conflictedLibraries.isEmpty()) {
-                log.warn("There are conflicts: {}", conflictedLibraries);
+        CheckedConfigurations checked = getCheckedConfigurations();
+        ConfigurationCheckResultStore resultStore = new ConfigurationCheckResultStore(
+                resultsDir.get().getAsFile());
+        Map<String, String> fingerprints = getConfigurationFingerprints();
+        int maxPaths = getMaxConflictPaths() == null
+                ? CheckDependenciesPluginExtension.DEFAULT_MAX_CONFLICT_PATHS : getMaxConflictPaths();
+
+        // Конфигурации, расширяющие друг друга без добавления зависимостей, имеют одинаковый граф,
+        // поэтому конфликты версий ищутся один раз для каждого различного графа.
+        // Различные графы анализируются параллельно через Worker API.
+        Map<String, ConfigurationCheckResult> storedResults = new HashMap<>();
+        Map<String, String> graphFingerprints = new HashMap<>();
+        Map<String, File> analysisResultFiles = new HashMap<>();
+        WorkQueue workQueue = workerExecutor.noIsolation();
+        checked.dependencies.forEach((configurationName, dependencies) -> {
+            // Результат зависит также от числа сохраняемых путей до конфликтующих библиотек
+            String resultKey = fingerprints.get(configurationName) + ":" + maxPaths;
+            Optional<ConfigurationCheckResult> storedResult = resultStore.find(configurationName, resultKey);
+            if (storedResult.isPresent()) {
+                log.info("Dependencies of configuration are not changed, reusing previous check result: configuration={}",
+                        configurationName);
+                storedResults.put(configurationName, storedResult.get());
+                return;
+            }
+
+            ArtifactNameSet fixedDependencies = checked.fixedDependencies.forConfiguration(configurationName);
+            String graphFingerprint = DependenciesFingerprint.ofGraph(fixedDependencies, dependencies.getGraph());
+            graphFingerprints.put(configurationName, graphFingerprint);
+            if (analysisResultFiles.containsKey(graphFingerprint)) {
+                log.info("Dependencies graph of configuration was already analyzed: configuration={}", configurationName);
+                return;
             }
 
-            // Ищем определение зафиксированных версий в блоке dependencies.
-            // Это неправильно, т.к. версия не будет применена.
-            configuration.getAllDependencies().stream()
-                    .filter(dep -> fixedDependencies.forConfiguration(configuration)
-                            .contains(new LibraryName(dep.getGroup(), dep.getName())))
-                    .filter(dep -> dep.getVersion() != null && !dep.getVersion().isEmpty())
-                    .forEach(dep -> log.warn("Fixed dependency are overridden in the local build.gradle. " +
-                            "Please, remove the version for these dependencies: {}:{}:{}",
-                            dep.getGroup(), dep.getName(), dep.getVersion()));
+            File analysisResultFile = new File(getTemporaryDir(), "analysis/" + graphFingerprint + ".bin");
+            analysisResultFiles.put(graphFingerprint, analysisResultFile);
+            ConflictsAnalysisInput input = ConflictsAnalysisInput.of(fixedDependencies, dependencies.getGraph(),
+                    maxPaths);
+            workQueue.submit(ConflictsAnalysisWorkAction.class, parameters -> {
+                parameters.getInput().set(input);
+                parameters.getResultFile().set(analysisResultFile);
+                parameters.getNamePoolService().set(namePoolService);
+            });
+        });
+        workQueue.await();
+
+        Map<String, ConflictsAnalysisResult> analysisResults = new HashMap<>();
+        List<String> report = new ArrayList<>();
+        checked.dependencies.forEach((configurationName, dependencies) -> {
+            ConfigurationCheckResult result = storedResults.get(configurationName);
+            if (result == null) {
+                ConflictsAnalysisResult analysisResult = analysisResults.computeIfAbsent(
+                        graphFingerprints.get(configurationName),
+                        graphFingerprint -> readAnalysisResult(analysisResultFiles.get(graphFingerprint)));
+                result = checkConfiguration(checked.fixedDependencies.forConfiguration(configurationName),
+                        configurationName, checked.declaredDependencies.getOrDefault(configurationName,
+                                Collections.emptyList()), analysisResult);
+                resultStore.store(configurationName, fingerprints.get(configurationName) + ":" + maxPaths, result);
+            }
+
+            result.getWarnings().forEach(log::warn);
+            report.addAll(result.getReportLines());
+        });
+
+        writeReport(report);
+    }
+
+    private static ConflictsAnalysisResult readAnalysisResult(File analysisResultFile) {
+        try {
+            return ConflictsAnalysisResult.read(analysisResultFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read conflicts analysis result: file=" + analysisResultFile, e);
+        }
+    }
+
+    private ConfigurationCheckResult checkConfiguration(ArtifactNameSet fixedDependencies, String configurationName,
+                                                        List<String> declaredDependencies,
+                                                        ConflictsAnalysisResult analysisResult) {
+        NamePool namePool = namePoolService.get().getNamePool();
+        ConfigurationCheckResult result = new ConfigurationCheckResult();
+
+        List<ConflictsAnalysisResult.Conflict> conflictedLibraries = analysisResult.getConflicts().stream()
+                .filter(conflict -> !conflict.getVersion().isEmpty())
+                .collect(Collectors.toList());
+        if (!conflictedLibraries.isEmpty()) {
+            result.addWarning("There are conflicts: " + conflictedLibraries);
+            conflictedLibraries.forEach(conflict -> addConflictToReport(result, configurationName, conflict));
+        }
+
+        // Ищем определение зафиксированных версий в блоке dependencies.
+        // Это неправильно, т.к. версия не будет применена.
+        declaredDependencies.stream()
+                .map(dependency -> parseArtifact(namePool, dependency))
+                .filter(dep -> fixedDependencies.contains(dep.getLibraryName()))
+                .forEach(dep -> {
+                    result.addWarning(String.format("Fixed dependency are overridden in the local build.gradle. " +
+                                    "Please, remove the version for these dependencies: %s:%s:%s",
+                            dep.getLibraryName().getGroup(), dep.getLibraryName().getName(), dep.getVersion()));
+                    result.addReportLine(String.format("configuration=%s, overridden fixed dependency=%s:%s:%s",
+                            configurationName, dep.getLibraryName().getGroup(), dep.getLibraryName().getName(),
+                            dep.getVersion()));
+                });
+        return result;
+    }
+
+    private static ArtifactName parseArtifact(NamePool namePool, String artifact) {
+        int versionIndex = artifact.lastIndexOf(':');
+        return namePool.artifact(namePool.parseLibrary(artifact.substring(0, versionIndex)),
+                artifact.substring(versionIndex + 1));
+    }
+
+    private static void addConflictToReport(ConfigurationCheckResult result, String configurationName,
+                                            ConflictsAnalysisResult.Conflict conflict) {
+        result.addReportLine(String.format("configuration=%s, conflict=%s, version=%s, fixedVersion=%s",
+                configurationName, conflict.getLibrary(), conflict.getVersion(), conflict.getFixedVersion()));
+        for (String path : conflict.getPaths()) {
+            result.addReportLine("    " + path);
+        }
+    }
+
+    private void writeReport(List<String> report) {
+        try {
+            Files.createDirectories(reportFile.getParentFile().toPath());
+            Files.write(reportFile.toPath(), report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write dependencies conflicts report: file=" + reportFile, e);
         }
     }
 
     /**
-     * Возвращает сет проверяемых конфигураций с учетом настройки плагина (Списка исключенных из проверки конфигураций)
+     * Возвращает исходные данные проверки, собранные из провайдеров, заданных при конфигурации задачи.
+     * <p>
+     * Зафиксированные версии загружаются для всех проверяемых конфигураций до разрешения любой из них,
+     * см. {@link FixedDependencies#loadManagedVersions}
      *
-     * @return Набор проверяемых конфигураций
+     * @return исходные данные проверки
      */
-    private Iterable<Configuration> getCheckedConfigurations() {
-        List<String> included = getIncludedConfigurations();
-
-        return getProject().getConfigurations().matching(configuration ->
-                included != null && included.contains(configuration.getName()));
+    private CheckedConfigurations getCheckedConfigurations() {
+        if (checkedConfigurations != null) {
+            return checkedConfigurations;
+        }
+        NamePool namePool = namePoolService.get().getNamePool();
+        FixedDependencies fixedDependencies = FixedDependencies.from(managedVersions.get(), namePool);
+        Map<String, ConfigurationDependencies> dependencies = new LinkedHashMap<>();
+        resolutionRoots.forEach((configurationName, resolutionRoot) -> dependencies.put(configurationName,
+                new ConfigurationDependencies(configurationName, resolutionRoot, namePool)));
+        checkedConfigurations = new CheckedConfigurations(fixedDependencies, dependencies, declaredDependencies.get());
+        return checkedConfigurations;
     }
 
     /**
-     * Анализирует версии библиотек для конфигурации проекта и сравнивает их с со списком фиксированных версий библиотек для конфигурации.
+     * Возвращает отпечатки исходных данных проверки для каждой проверяемой конфигурации:
+     * графа зависимостей, зафиксированных версий и объявленных зависимостей.
      *
-     * @param configuration конфигурация сборки
-     * @return Правомерны изменения версий библиотек или нет
-     **/
-    private List<ConflictedLibraryInfo> calculateConflictedVersionsLibrariesFor(@Nonnull Configuration configuration) {
-        return ConfigurationConflictsAnalyzer.create(fixedDependencies, configuration)
-                .findConflictedLibraries();
+     * @return отображение имени конфигурации в отпечаток
+     */
+    @Input
+    public Map<String, String> getConfigurationFingerprints() {
+        CheckedConfigurations checked = getCheckedConfigurations();
+        if (checked.fingerprints != null) {
+            return checked.fingerprints;
+        }
+        Map<String, String> fingerprints = new TreeMap<>();
+        checked.dependencies.forEach((configurationName, dependencies) -> fingerprints.put(configurationName,
+                DependenciesFingerprint.of(checked.fixedDependencies.forConfiguration(configurationName),
+                        dependencies.getGraph(),
+                        checked.declaredDependencies.getOrDefault(configurationName, Collections.emptyList()))));
+        checked.fingerprints = Collections.unmodifiableMap(fingerprints);
+        return checked.fingerprints;
     }
 
     /**
@@ -91,8 +279,9 @@ public class CheckDependenciesTask extends ConventionTask {
      *
      * @return список конфигураций
      */
+    @Input
     @Nullable
-    List<String> getIncludedConfigurations() {
+    public List<String> getIncludedConfigurations() {
         return includedConfigurations;
     }
 
@@ -104,4 +293,128 @@ public class CheckDependenciesTask extends ConventionTask {
     void setIncludedConfigurations(List<String> includedConfigurations) {
         this.includedConfigurations = new ArrayList<>(includedConfigurations);
     }
-}
\ No newline at end of file
+
+    /**
+     * Возвращает максимальное число сохраняемых путей до библиотеки для каждого конфликта.
+     * Если значение не задано, используется {@link CheckDependenciesPluginExtension#DEFAULT_MAX_CONFLICT_PATHS}.
+     *
+     * @return максимальное число путей
+     */
+    @Input
+    @Nullable
+    public Integer getMaxConflictPaths() {
+        return maxConflictPaths;
+    }
+
+    /**
+     * Задает максимальное число сохраняемых путей до библиотеки для каждого конфликта.
+     *
+     * @param maxConflictPaths максимальное число путей
+     */
+    void setMaxConflictPaths(Integer maxConflictPaths) {
+        this.maxConflictPaths = maxConflictPaths;
+    }
+
+    /**
+     * Возвращает файл отчета о найденных конфликтах.
+     *
+     * @return файл отчета
+     */
+    @OutputFile
+    public File getReportFile() {
+        return reportFile;
+    }
+
+    /**
+     * Задает файл отчета о найденных конфликтах.
+     *
+     * @param reportFile файл отчета
+     */
+    void setReportFile(@Nonnull File reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    /**
+     * Возвращает директорию с результатами проверки каждой конфигурации, переиспользуемыми при повторном выполнении
+     * задачи. Директория не является выходными данными задачи и удаляется gradle при восстановлении результата из кэша сборки.
+     *
+     * @return директория результатов проверки конфигураций
+     */
+    @LocalState
+    public DirectoryProperty getResultsDir() {
+        return resultsDir;
+    }
+
+    /**
+     * Добавляет проверяемую конфигурацию. Резолв конфигурации выполняется только при выполнении задачи
+     * и только после загрузки зафиксированных версий, поэтому зафиксированные версии должны быть заданы до вызова.
+     *
+     * @param configurationName имя конфигурации
+     * @param resolutionRoot    провайдер корневого компонента результата резолва конфигурации
+     */
+    void addResolutionRoot(@Nonnull String configurationName,
+                           @Nonnull Provider<ResolvedComponentResult> resolutionRoot) {
+        if (managedVersions == null) {
+            throw new IllegalStateException("Managed versions must be set before resolution roots: configuration="
+                    + configurationName);
+        }
+        // Зафиксированные версии загружаются до резолва конфигурации, см. FixedDependencies#loadManagedVersions
+        resolutionRoots.put(configurationName, managedVersions.flatMap(versions -> resolutionRoot));
+    }
+
+    /**
+     * Задает зафиксированные в dependencyManagement версии библиотек проверяемых конфигураций.
+     * Провайдер должен загружать версии один раз, см. {@link FixedDependencies#provideManagedVersions}
+     *
+     * @param managedVersions отображение имени конфигурации в зафиксированные версии библиотек (group:name -> version)
+     */
+    void setManagedVersions(@Nonnull Provider<Map<String, Map<String, String>>> managedVersions) {
+        this.managedVersions = managedVersions;
+    }
+
+    /**
+     * Задает объявленные в проверяемых конфигурациях зависимости с указанной версией
+     *
+     * @param declaredDependencies отображение имени конфигурации в зависимости в формате group:name:version
+     */
+    void setDeclaredDependencies(@Nonnull Provider<Map<String, List<String>>> declaredDependencies) {
+        this.declaredDependencies = declaredDependencies;
+    }
+
+    /**
+     * Возвращает общий для сборки пул имен библиотек и артефактов.
+     *
+     * @return пул имен
+     */
+    @Internal
+    public Provider<NamePoolService> getNamePoolService() {
+        return namePoolService;
+    }
+
+    /**
+     * Задает общий для сборки пул имен библиотек и артефактов.
+     *
+     * @param namePoolService пул имен
+     */
+    void setNamePoolService(Provider<NamePoolService> namePoolService) {
+        this.namePoolService = namePoolService;
+    }
+
+    /**
+     * Исходные данные проверки: зафиксированные версии и графы зависимостей проверяемых конфигураций
+     */
+    private static final class CheckedConfigurations {
+        private final FixedDependencies fixedDependencies;
+        private final Map<String, ConfigurationDependencies> dependencies;
+        private final Map<String, List<String>> declaredDependencies;
+        private Map<String, String> fingerprints;
+
+        private CheckedConfigurations(FixedDependencies fixedDependencies,
+                                      Map<String, ConfigurationDependencies> dependencies,
+                                      Map<String, List<String>> declaredDependencies) {
+            this.fixedDependencies = fixedDependencies;
+            this.dependencies = dependencies;
+            this.declaredDependencies = declaredDependencies;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.yoomoney.gradle.plugins.library.dependencies;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Результат проверки одной конфигурации задачей {@link CheckDependenciesTask}:
+ * предупреждения, выводимые в лог, и строки отчета о конфликтах
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+final class ConfigurationCheckResult {
+    private final List<String> warnings;
+    private final List<String> reportLines;
+
+    ConfigurationCheckResult() {
+        this(new ArrayList<>(), new ArrayList<>());
+    }
+
+    ConfigurationCheckResult(@Nonnull List<String> warnings, @Nonnull List<String> reportLines) {
+        this.warnings = warnings;
+        this.reportLines = reportLines;
+    }
+
+    void addWarning(@Nonnull String warning) {
+        warnings.add(warning);
+    }
+
+    void addReportLine(@Nonnull String reportLine) {
+        reportLines.add(reportLine);
+    }
+
+    List<String> getWarnings() {
+        return Collections.unmodifiableList(warnings);
+    }
+
+    List<String> getReportLines() {
+        return Collections.unmodifiableList(reportLines);
+    }
+}
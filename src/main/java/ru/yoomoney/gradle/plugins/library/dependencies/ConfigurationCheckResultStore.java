@@ -0,0 +1,107 @@
+package ru.yoomoney.gradle.plugins.library.dependencies;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Хранит в директории сборки результаты проверки конфигураций вместе с отпечатками их исходных данных.
+ * Результат переиспользуется, пока отпечаток конфигурации не изменился, так что при изменении одной конфигурации
+ * повторно проверяется только она.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+class ConfigurationCheckResultStore {
+    private static final Logger log = LoggerFactory.getLogger(ConfigurationCheckResultStore.class);
+
+    private static final String FINGERPRINT_PREFIX = "fingerprint=";
+    private static final String WARNING_PREFIX = "W ";
+    private static final String REPORT_LINE_PREFIX = "R ";
+
+    @Nonnull
+    private final File storeDir;
+
+    /**
+     * Конструктор класса
+     *
+     * @param storeDir директория хранения результатов
+     */
+    ConfigurationCheckResultStore(@Nonnull File storeDir) {
+        this.storeDir = requireNonNull(storeDir, "storeDir");
+    }
+
+    /**
+     * Возвращает сохраненный результат проверки конфигурации, если он получен для тех же исходных данных
+     *
+     * @param configurationName имя конфигурации
+     * @param fingerprint       отпечаток исходных данных проверки конфигурации
+     * @return сохраненный результат или Optional.empty()
+     */
+    Optional<ConfigurationCheckResult> find(@Nonnull String configurationName, @Nonnull String fingerprint) {
+        File resultFile = getResultFile(configurationName);
+        if (!resultFile.isFile()) {
+            return Optional.empty();
+        }
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(resultFile.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.info("Can't read stored check result, will ignore it: file={}", resultFile, e);
+            return Optional.empty();
+        }
+        if (lines.isEmpty() || !lines.get(0).equals(FINGERPRINT_PREFIX + fingerprint)) {
+            return Optional.empty();
+        }
+
+        List<String> warnings = new ArrayList<>();
+        List<String> reportLines = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.startsWith(WARNING_PREFIX)) {
+                warnings.add(line.substring(WARNING_PREFIX.length()));
+            } else if (line.startsWith(REPORT_LINE_PREFIX)) {
+                reportLines.add(line.substring(REPORT_LINE_PREFIX.length()));
+            } else {
+                log.info("Stored check result has unexpected format, will ignore it: file={}", resultFile);
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new ConfigurationCheckResult(warnings, reportLines));
+    }
+
+    /**
+     * Сохраняет результат проверки конфигурации
+     *
+     * @param configurationName имя конфигурации
+     * @param fingerprint       отпечаток исходных данных проверки конфигурации
+     * @param result            результат проверки
+     */
+    void store(@Nonnull String configurationName, @Nonnull String fingerprint, @Nonnull ConfigurationCheckResult result) {
+        List<String> lines = new ArrayList<>();
+        lines.add(FINGERPRINT_PREFIX + fingerprint);
+        result.getWarnings().forEach(warning -> lines.add(WARNING_PREFIX + warning));
+        result.getReportLines().forEach(reportLine -> lines.add(REPORT_LINE_PREFIX + reportLine));
+
+        File resultFile = getResultFile(configurationName);
+        try {
+            Files.createDirectories(storeDir.toPath());
+            Files.write(resultFile.toPath(), lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.info("Can't store check result: file={}", resultFile, e);
+        }
+    }
+
+    private File getResultFile(String configurationName) {
+        return new File(storeDir, configurationName.replaceAll("[^A-Za-z0-9.\\-]+", "_") + ".txt");
+    }
+}
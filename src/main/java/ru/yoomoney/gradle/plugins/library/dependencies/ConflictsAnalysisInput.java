@@ -0,0 +1,93 @@
+package ru.yoomoney.gradle.plugins.library.dependencies;
+
+import ru.yoomoney.gradle.plugins.library.dependencies.analysis.DependencyGraph;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactNameSet;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Сериализуемые исходные данные анализа конфликтов версий одного графа зависимостей:
+ * снимок графа, зафиксированные в dependencyManagement версии и число сохраняемых путей до библиотеки.
+ * Передаются в {@link ConflictsAnalysisWorkAction}.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class ConflictsAnalysisInput implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final DependencyGraph.Snapshot graph;
+    /**
+     * Зафиксированные версии в порядке обхода набора, для каждой версии - группа, имя библиотеки и версия
+     */
+    private final List<String> fixedDependencies;
+    private final int maxConflictPaths;
+
+    private ConflictsAnalysisInput(DependencyGraph.Snapshot graph, List<String> fixedDependencies, int maxConflictPaths) {
+        this.graph = graph;
+        this.fixedDependencies = fixedDependencies;
+        this.maxConflictPaths = maxConflictPaths;
+    }
+
+    /**
+     * Создает исходные данные анализа
+     *
+     * @param fixedDependencies зафиксированные в dependencyManagement версии библиотек
+     * @param graph             граф зависимостей конфигурации
+     * @param maxConflictPaths  максимальное число сохраняемых путей до библиотеки для каждого конфликта
+     * @return исходные данные анализа
+     */
+    static ConflictsAnalysisInput of(@Nonnull ArtifactNameSet fixedDependencies, @Nonnull DependencyGraph graph,
+                                     int maxConflictPaths) {
+        requireNonNull(fixedDependencies, "fixedDependencies");
+        requireNonNull(graph, "graph");
+        List<String> fixedNames = new ArrayList<>();
+        for (ArtifactName fixedDependency : fixedDependencies) {
+            fixedNames.add(fixedDependency.getLibraryName().getGroup());
+            fixedNames.add(fixedDependency.getLibraryName().getName());
+            fixedNames.add(fixedDependency.getVersion());
+        }
+        return new ConflictsAnalysisInput(graph.snapshot(), fixedNames, maxConflictPaths);
+    }
+
+    /**
+     * Восстанавливает граф зависимостей
+     *
+     * @param namePool пул имен артефактов
+     * @return граф зависимостей
+     */
+    DependencyGraph getGraph(@Nonnull NamePool namePool) {
+        return DependencyGraph.fromSnapshot(graph, namePool);
+    }
+
+    /**
+     * Восстанавливает набор зафиксированных версий. Порядок версий библиотеки сохраняется.
+     *
+     * @param namePool пул имен артефактов
+     * @return набор зафиксированных версий
+     */
+    ArtifactNameSet getFixedDependencies(@Nonnull NamePool namePool) {
+        Map<LibraryName, Set<String>> libraryVersions = new LinkedHashMap<>();
+        for (int i = 0; i < fixedDependencies.size(); i += 3) {
+            libraryVersions.computeIfAbsent(namePool.library(fixedDependencies.get(i), fixedDependencies.get(i + 1)),
+                    libraryName -> new LinkedHashSet<>()).add(fixedDependencies.get(i + 2));
+        }
+        return ArtifactNameSet.fromLibraryVersions(libraryVersions);
+    }
+
+    int getMaxConflictPaths() {
+        return maxConflictPaths;
+    }
+}
@@ -0,0 +1,135 @@
+package ru.yoomoney.gradle.plugins.library.dependencies;
+
+import ru.yoomoney.gradle.plugins.library.dependencies.analysis.conflicts.ConflictedLibraryInfo;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactDependency;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.DependencyPath;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Результат анализа конфликтов версий одного графа зависимостей, не зависящий от имени конфигурации.
+ * Записывается в файл {@link ConflictsAnalysisWorkAction} и читается задачей {@link CheckDependenciesTask}.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+final class ConflictsAnalysisResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<Conflict> conflicts;
+
+    private ConflictsAnalysisResult(List<Conflict> conflicts) {
+        this.conflicts = conflicts;
+    }
+
+    /**
+     * Создает результат анализа по найденным конфликтам
+     *
+     * @param conflictedLibraries найденные конфликты версий
+     * @return результат анализа
+     */
+    static ConflictsAnalysisResult of(@Nonnull List<ConflictedLibraryInfo> conflictedLibraries) {
+        List<Conflict> conflicts = new ArrayList<>();
+        for (ConflictedLibraryInfo conflict : conflictedLibraries) {
+            List<String> paths = new ArrayList<>();
+            for (DependencyPath<ArtifactDependency> path : conflict.getConflictDependentPaths()) {
+                List<String> pathArtifacts = new ArrayList<>();
+                for (ArtifactDependency dependency : path) {
+                    ArtifactName name = dependency.getName();
+                    pathArtifacts.add(name.getLibraryName() + ":" + name.getVersion());
+                }
+                paths.add(String.join(" -> ", pathArtifacts));
+            }
+            conflicts.add(new Conflict(conflict.toString(), String.valueOf(conflict.getLibrary()), conflict.getVersion(),
+                    conflict.getFixedVersion(), paths));
+        }
+        return new ConflictsAnalysisResult(conflicts);
+    }
+
+    /**
+     * Читает результат анализа из файла
+     *
+     * @param file файл результата
+     * @return результат анализа
+     */
+    static ConflictsAnalysisResult read(@Nonnull File file) throws IOException {
+        try (ObjectInputStream input = new ObjectInputStream(Files.newInputStream(file.toPath()))) {
+            return (ConflictsAnalysisResult) input.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Can't read conflicts analysis result: file=" + file, e);
+        }
+    }
+
+    /**
+     * Записывает результат анализа в файл
+     *
+     * @param file файл результата
+     */
+    void write(@Nonnull File file) throws IOException {
+        Files.createDirectories(file.getParentFile().toPath());
+        try (ObjectOutputStream output = new ObjectOutputStream(Files.newOutputStream(file.toPath()))) {
+            output.writeObject(this);
+        }
+    }
+
+    List<Conflict> getConflicts() {
+        return Collections.unmodifiableList(conflicts);
+    }
+
+    /**
+     * Конфликт версий библиотеки
+     */
+    static final class Conflict implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String description;
+        private final String library;
+        private final String version;
+        private final String fixedVersion;
+        private final List<String> paths;
+
+        private Conflict(String description, String library, String version, String fixedVersion, List<String> paths) {
+            this.description = description;
+            this.library = library;
+            this.version = version;
+            this.fixedVersion = fixedVersion;
+            this.paths = paths;
+        }
+
+        String getLibrary() {
+            return library;
+        }
+
+        String getVersion() {
+            return version;
+        }
+
+        String getFixedVersion() {
+            return fixedVersion;
+        }
+
+        /**
+         * Возвращает пути до библиотеки, упорядоченные по длине, артефакты пути разделены " -> "
+         *
+         * @return пути до библиотеки
+         */
+        List<String> getPaths() {
+            return Collections.unmodifiableList(paths);
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.yoomoney.gradle.plugins.library.dependencies;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import ru.yoomoney.gradle.plugins.library.dependencies.analysis.conflicts.ConfigurationConflictsAnalyzer;
+import ru.yoomoney.gradle.plugins.library.dependencies.analysis.conflicts.ConflictedLibraryInfo;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePoolService;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Анализирует конфликты версий одного графа зависимостей в отдельном потоке Gradle Worker API.
+ * Результат анализа записывается в файл, см. {@link ConflictsAnalysisResult}.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public abstract class ConflictsAnalysisWorkAction implements WorkAction<ConflictsAnalysisWorkAction.Parameters> {
+
+    @Override
+    public void execute() {
+        ConflictsAnalysisInput input = getParameters().getInput().get();
+        NamePool namePool = getParameters().getNamePoolService().get().getNamePool();
+        List<ConflictedLibraryInfo> conflictedLibraries = ConfigurationConflictsAnalyzer.create(
+                input.getFixedDependencies(namePool), input.getGraph(namePool), input.getMaxConflictPaths())
+                .findConflictedLibraries();
+
+        File resultFile = getParameters().getResultFile().get().getAsFile();
+        try {
+            ConflictsAnalysisResult.of(conflictedLibraries).write(resultFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write conflicts analysis result: file=" + resultFile, e);
+        }
+    }
+
+    /**
+     * Параметры анализа
+     */
+    public interface Parameters extends WorkParameters {
+        /**
+         * Исходные данные анализа
+         */
+        Property<ConflictsAnalysisInput> getInput();
+
+        /**
+         * Файл, в который записывается результат анализа
+         */
+        RegularFileProperty getResultFile();
+
+        /**
+         * Общий для сборки пул имен библиотек и артефактов
+         */
+        Property<NamePoolService> getNamePoolService();
+    }
+}
@@ -0,0 +1,103 @@
+package ru.yoomoney.gradle.plugins.library.dependencies;
+
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.ModuleDependency;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.Version;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Ищет последние версии библиотек средствами gradle.
+ * <p>
+ * Разрешает detached-конфигурацию, в которую библиотеки добавлены с динамической версией '+'. Списки версий gradle берет
+ * из собственного кэша (~/.gradle/caches/modules-2), который, как правило, уже заполнен при разрешении конфигураций проекта,
+ * и обращается к репозиториям только по истечении cacheDynamicVersionsFor. Правило выбора компонентов получает версии
+ * каждого репозитория и запоминает последнюю версию, прошедшую фильтр. Все версии при этом отклоняются, чтобы gradle
+ * не загружал pom выбранной версии: для поиска последней версии достаточно списка версий.
+ * <p>
+ * Разрешение конфигурации должно выполняться в потоке задачи, поэтому источник используется только для пакетного поиска.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+class GradleVersionSource {
+    private static final Logger log = LoggerFactory.getLogger(GradleVersionSource.class);
+
+    @Nonnull
+    private final Project project;
+    @Nonnull
+    private final Predicate<String> versionFilter;
+
+    /**
+     * Конструктор класса
+     *
+     * @param project       проект, репозитории которого используются для поиска версий
+     * @param versionFilter фильтр допустимых версий
+     */
+    GradleVersionSource(@Nonnull Project project, @Nonnull Predicate<String> versionFilter) {
+        this.project = requireNonNull(project, "project");
+        this.versionFilter = requireNonNull(versionFilter, "versionFilter");
+    }
+
+    /**
+     * Ищет последние версии библиотек
+     *
+     * @param libraryNames имена библиотек
+     * @return отображение имени библиотеки в ее последнюю версию. Библиотеки, версии которых gradle не смог найти,
+     * в результат не попадают
+     */
+    Map<LibraryName, String> findLatestVersions(@Nonnull Collection<LibraryName> libraryNames) {
+        if (libraryNames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Dependency[] dependencies = libraryNames.stream()
+                .map(libraryName -> {
+                    Dependency dependency = project.getDependencies()
+                            .create(libraryName.getGroup() + ":" + libraryName.getName() + ":+");
+                    ((ModuleDependency) dependency).setTransitive(false);
+                    return dependency;
+                })
+                .toArray(Dependency[]::new);
+
+        Map<LibraryName, String> latestVersions = new ConcurrentHashMap<>();
+        Configuration configuration = project.getConfigurations().detachedConfiguration(dependencies);
+        configuration.setTransitive(false);
+        configuration.getResolutionStrategy().getComponentSelection().all(selection -> {
+            ModuleComponentIdentifier candidate = selection.getCandidate();
+            if (versionFilter.test(candidate.getVersion())) {
+                latestVersions.merge(new LibraryName(candidate.getGroup(), candidate.getModule()),
+                        candidate.getVersion(), GradleVersionSource::latestVersion);
+                selection.reject("latest version is found, metadata is not required");
+            } else {
+                selection.reject("version is not a release");
+            }
+        });
+
+        try {
+            // Все версии отклонены правилом выбора, поэтому зависимости остаются неразрешенными
+            configuration.getIncoming().getResolutionResult().getRoot();
+        } catch (RuntimeException e) {
+            log.info("Can't resolve latest versions with gradle, will use maven-metadata.xml: project={}",
+                    project.getPath(), e);
+        }
+        return latestVersions;
+    }
+
+    private static String latestVersion(String first, String second) {
+        return Version.parse(first).compareTo(Version.parse(second)) >= 0 ? first : second;
+    }
+}
@@ -5,14 +5,27 @@ import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactDependent;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactName;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.DependencyPath;
 
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
- * Ищет в переданном дереве артефактов все пути до артефактов, удовлетворяющих данному условию
+ * Ищет в переданном дереве артефактов все пути до артефактов, удовлетворяющих данному условию.
+ * <p>
+ * Обход выполняется в глубину с явным стеком, поэтому глубина дерева не ограничена размером стека потока.
+ * При поиске путей сразу до нескольких артефактов множество посещенных артефактов ведется для каждого искомого
+ * артефакта отдельно (битовой маской у каждого посещенного артефакта), поэтому пути до каждого артефакта
+ * совпадают с путями, найденными отдельным поиском, и не зависят от остальных искомых артефактов.
  *
  * @param <ArtifactT> тип артефакта, реализующий интерфейс {@link Artifact}
  * @author Konstantin Novokreshchenov
@@ -21,14 +34,48 @@ import java.util.function.Predicate;
 public class ArtifactDependentPathsFinder<ArtifactT extends Artifact<ArtifactT>> {
     private final ArtifactDependent<ArtifactT> root;
     private final Predicate<? super ArtifactName> isRequestedArtifact;
+    /**
+     * Номера искомых артефактов при поиске сразу до нескольких артефактов, null при поиске по условию
+     */
+    @Nullable
+    private final Map<ArtifactName, Integer> targetIndexes;
 
-    private Set<ArtifactName> visitedArtifacts;
-    private List<DependencyPath<ArtifactT>> foundPaths;
+    /**
+     * Посещенные артефакты и номера искомых артефактов, для которых они посещены
+     */
+    private Map<ArtifactName, BitSet> visitedArtifacts;
+    private Consumer<DependencyPathBuilder<ArtifactT>> foundPathConsumer;
 
     public ArtifactDependentPathsFinder(ArtifactDependent<ArtifactT> root,
                                         Predicate<? super ArtifactName> isRequestedArtifact) {
+        this(root, isRequestedArtifact, null);
+    }
+
+    private ArtifactDependentPathsFinder(ArtifactDependent<ArtifactT> root,
+                                         Predicate<? super ArtifactName> isRequestedArtifact,
+                                         @Nullable Map<ArtifactName, Integer> targetIndexes) {
         this.root = root;
         this.isRequestedArtifact = isRequestedArtifact;
+        this.targetIndexes = targetIndexes;
+    }
+
+    /**
+     * Создает поиск путей сразу до нескольких артефактов за один обход дерева.
+     * Для каждого артефакта находятся те же пути, что и отдельным поиском
+     * {@code new ArtifactDependentPathsFinder<>(root, target::equals)}
+     *
+     * @param root            корень дерева артефактов
+     * @param targetArtifacts имена искомых артефактов
+     * @param <T>             тип артефакта
+     * @return поиск путей до артефактов
+     */
+    public static <T extends Artifact<T>> ArtifactDependentPathsFinder<T> forTargets(ArtifactDependent<T> root,
+                                                                                   Set<ArtifactName> targetArtifacts) {
+        Map<ArtifactName, Integer> targetIndexes = new HashMap<>();
+        for (ArtifactName targetArtifact : targetArtifacts) {
+            targetIndexes.putIfAbsent(targetArtifact, targetIndexes.size());
+        }
+        return new ArtifactDependentPathsFinder<>(root, targetIndexes::containsKey, targetIndexes);
     }
 
     /**
@@ -37,47 +84,140 @@ public class ArtifactDependentPathsFinder<ArtifactT extends Artifact<ArtifactT>>
      * @return список найденных путей
      */
     public List<DependencyPath<ArtifactT>> findPaths() {
-        initialize();
-
-        traverse(root, DependencyPathBuilder.create());
-
+        List<DependencyPath<ArtifactT>> foundPaths = new ArrayList<>();
+        findPaths(pathBuilder -> foundPaths.add(pathBuilder.build()));
         return foundPaths;
     }
 
-    private void initialize() {
-        visitedArtifacts = new HashSet<>();
-        foundPaths = new ArrayList<>();
+    /**
+     * Начинает поиск всех путей до артефактов, имя которых удовлетворяет условию, и группирует их по искомому артефакту
+     *
+     * @return отображение имени найденного артефакта в список путей до него
+     */
+    public Map<ArtifactName, List<DependencyPath<ArtifactT>>> findPathsByTarget() {
+        Map<ArtifactName, List<DependencyPath<ArtifactT>>> pathsByTarget = new LinkedHashMap<>();
+        findPaths(pathBuilder -> pathsByTarget.computeIfAbsent(getTargetName(pathBuilder), name -> new ArrayList<>())
+                .add(pathBuilder.build()));
+        return pathsByTarget;
     }
 
-    private void traverse(ArtifactDependent<ArtifactT> root, DependencyPathBuilder<ArtifactT> dependencyPathBuilder) {
-        for (ArtifactT artifact: root.getDependencies()) {
-            visitDependency(artifact, dependencyPathBuilder);
-        }
+    /**
+     * Начинает поиск путей до артефактов, имя которых удовлетворяет условию, и для каждого искомого артефакта
+     * оставляет не более заданного числа первых найденных путей. Это те же пути, что и первые пути
+     * результата {@link #findPathsByTarget()}, но не обязательно самые короткие пути в дереве.
+     * Остальные пути отбрасываются сразу при обнаружении и не накапливаются в памяти
+     *
+     * @param maxPathsPerTarget максимальное число путей до одного артефакта
+     * @return отображение имени найденного артефакта в список путей до него, упорядоченный по длине пути
+     */
+    public Map<ArtifactName, List<DependencyPath<ArtifactT>>> findFirstPathsByTarget(int maxPathsPerTarget) {
+        Map<ArtifactName, FirstPathsCollector<ArtifactT>> collectors = new LinkedHashMap<>();
+        findPaths(pathBuilder -> collectors.computeIfAbsent(getTargetName(pathBuilder),
+                name -> new FirstPathsCollector<>(maxPathsPerTarget)).add(pathBuilder));
+
+        Map<ArtifactName, List<DependencyPath<ArtifactT>>> pathsByTarget = new LinkedHashMap<>();
+        collectors.forEach((name, collector) -> pathsByTarget.put(name, collector.getPaths()));
+        return pathsByTarget;
     }
 
-    private void visitDependency(ArtifactT dependency, DependencyPathBuilder<ArtifactT> dependencyPathBuilder) {
-        dependencyPathBuilder = dependencyPathBuilder.copy();
-        dependencyPathBuilder.add(dependency);
+    private void findPaths(Consumer<DependencyPathBuilder<ArtifactT>> foundPathConsumer) {
+        this.visitedArtifacts = new HashMap<>();
+        this.foundPathConsumer = foundPathConsumer;
 
-        if (isRequested(dependency)) {
-            foundPaths.add(dependencyPathBuilder.build());
+        int targetsCount = targetIndexes == null ? 1 : targetIndexes.size();
+        if (targetsCount == 0) {
             return;
         }
+        BitSet rootTargets = new BitSet(targetsCount);
+        rootTargets.set(0, targetsCount);
+        traverse(root, DependencyPathBuilder.create(), rootTargets);
+    }
 
-        if (visitedArtifacts.contains(dependency.getName())) {
-            return;
+    private ArtifactName getTargetName(DependencyPathBuilder<ArtifactT> pathBuilder) {
+        return pathBuilder.getLastDependency().getName();
+    }
+
+    private void traverse(ArtifactDependent<ArtifactT> root, DependencyPathBuilder<ArtifactT> rootPathBuilder,
+                          BitSet rootTargets) {
+        Deque<TraversalFrame<ArtifactT>> stack = new ArrayDeque<>();
+        stack.push(new TraversalFrame<>(rootPathBuilder, rootTargets, root.getDependencies().iterator()));
+
+        while (!stack.isEmpty()) {
+            TraversalFrame<ArtifactT> frame = stack.peek();
+            if (!frame.dependencies.hasNext()) {
+                stack.pop();
+                continue;
+            }
+
+            ArtifactT dependency = frame.dependencies.next();
+            TraversalFrame<ArtifactT> dependencyFrame = visitDependency(dependency, frame);
+            if (dependencyFrame != null) {
+                stack.push(dependencyFrame);
+            }
+        }
+    }
+
+    /**
+     * Посещает зависимость
+     *
+     * @return состояние обхода зависимостей артефакта, если их требуется обойти хотя бы для одного искомого артефакта,
+     * иначе null
+     */
+    @Nullable
+    private TraversalFrame<ArtifactT> visitDependency(ArtifactT dependency, TraversalFrame<ArtifactT> parentFrame) {
+        ArtifactName dependencyName = dependency.getName();
+        DependencyPathBuilder<ArtifactT> dependencyPathBuilder = parentFrame.pathBuilder.add(dependency);
+        BitSet targets = parentFrame.targets;
+
+        int targetIndex = getTargetIndex(dependencyName);
+        if (targetIndex >= 0 && targets.get(targetIndex)) {
+            foundPathConsumer.accept(dependencyPathBuilder);
+            targets = (BitSet) targets.clone();
+            targets.clear(targetIndex);
         }
 
-        visitedArtifacts.add(dependency.getName());
+        BitSet visitedTargets = visitedArtifacts.get(dependencyName);
+        if (visitedTargets == null) {
+            visitedTargets = new BitSet();
+            visitedArtifacts.put(dependencyName, visitedTargets);
+        } else if (visitedTargets.intersects(targets)) {
+            if (targets == parentFrame.targets) {
+                targets = (BitSet) targets.clone();
+            }
+            targets.andNot(visitedTargets);
+        }
+        if (targets.isEmpty()) {
+            return null;
+        }
+        visitedTargets.or(targets);
+        return new TraversalFrame<>(dependencyPathBuilder, targets, dependency.getDependencies().iterator());
+    }
 
-        for (ArtifactT childDependency: dependency.getDependencies()) {
-            visitDependency(childDependency, dependencyPathBuilder);
+    /**
+     * Возвращает номер искомого артефакта или -1, если артефакт не искомый
+     */
+    private int getTargetIndex(ArtifactName artifactName) {
+        if (targetIndexes == null) {
+            return isRequestedArtifact.test(artifactName) ? 0 : -1;
         }
+        Integer targetIndex = targetIndexes.get(artifactName);
+        return targetIndex == null ? -1 : targetIndex;
     }
 
-    private boolean isRequested(ArtifactT foundArtifact) {
-        ArtifactName foundArtifactName = foundArtifact.getName();
-        return isRequestedArtifact.test(foundArtifactName);
+    /**
+     * Состояние обхода зависимостей артефакта: путь до артефакта, номера искомых артефактов, для которых
+     * продолжается обход, и еще не посещенные зависимости
+     */
+    private static final class TraversalFrame<ArtifactT extends Artifact<ArtifactT>> {
+        private final DependencyPathBuilder<ArtifactT> pathBuilder;
+        private final BitSet targets;
+        private final Iterator<ArtifactT> dependencies;
+
+        private TraversalFrame(DependencyPathBuilder<ArtifactT> pathBuilder, BitSet targets,
+                               Iterator<ArtifactT> dependencies) {
+            this.pathBuilder = pathBuilder;
+            this.targets = targets;
+            this.dependencies = dependencies;
+        }
     }
 }
-
@@ -1,22 +1,20 @@
 package ru.yoomoney.gradle.plugins.library.dependencies.analysis;
 
-import org.gradle.api.artifacts.Configuration;
-import org.gradle.api.artifacts.result.DependencyResult;
 import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.provider.Provider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactDependency;
-import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactDependencyFactory;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactDependent;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool;
 
 import javax.annotation.Nonnull;
-import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
- * Хранит информацию о графе зависимостей для конкретной конфигурации
+ * Хранит информацию о графе зависимостей для конкретной конфигурации.
+ * Граф строится один раз при первом обращении, см. {@link DependencyGraph}.
+ * Конфигурация задается провайдером результата ее резолва, поэтому резолв выполняется только при построении графа.
  *
  * @author Konstantin Novokreshchenov
  * @since 13.03.2017
@@ -24,10 +22,25 @@ import java.util.stream.Collectors;
 public class ConfigurationDependencies {
     private static final Logger log = LoggerFactory.getLogger(ConfigurationDependencies.class);
 
-    private final Configuration configuration;
+    private final String configurationName;
+    private final Provider<ResolvedComponentResult> resolutionRoot;
+    private final NamePool namePool;
+    private DependencyGraph graph;
 
-    public ConfigurationDependencies(Configuration configuration) {
-        this.configuration = configuration;
+    public ConfigurationDependencies(String configurationName, Provider<ResolvedComponentResult> resolutionRoot,
+                                     NamePool namePool) {
+        this.configurationName = configurationName;
+        this.resolutionRoot = resolutionRoot;
+        this.namePool = namePool;
+    }
+
+    /**
+     * Возвращает имя конфигурации проекта
+     *
+     * @return имя конфигурации
+     */
+    public String getConfigurationName() {
+        return configurationName;
     }
 
     /**
@@ -36,36 +49,40 @@ public class ConfigurationDependencies {
      * @return корень дерева зависимостей
      */
     public ArtifactDependent<ArtifactDependency> root() {
-        return getDependencyRoot();
+        List<ArtifactDependency> rootDependencies = getGraph().rootDependencies();
+        return () -> rootDependencies;
     }
 
     /**
-     * Возвращает все зависимости для конфигурации проекта
+     * Возвращает все различные зависимости для конфигурации проекта
      *
      * @return список всех зависимостей
      */
     public List<ArtifactDependency> all() {
-        return findAllDependencies(configuration).stream()
-                    .map(dependency -> ArtifactDependencyFactory.create(configuration, dependency))
-                    .filter(dependency -> dependency != null)
-                    .collect(Collectors.toList());
+        return getGraph().allDependencies();
     }
 
-    private Set<? extends DependencyResult> findAllDependencies(@Nonnull Configuration configuration) {
+    /**
+     * Возвращает снимок графа зависимостей конфигурации
+     *
+     * @return граф зависимостей
+     */
+    public DependencyGraph getGraph() {
+        if (graph == null) {
+            graph = buildGraph(configurationName, resolutionRoot, namePool);
+        }
+        return graph;
+    }
+
+    private static DependencyGraph buildGraph(@Nonnull String configurationName,
+                                              @Nonnull Provider<ResolvedComponentResult> resolutionRoot,
+                                              @Nonnull NamePool namePool) {
         try {
-            return configuration.getIncoming().getResolutionResult().getAllDependencies();
+            return DependencyGraph.of(resolutionRoot.get(), namePool);
         } catch (Exception ex) {
             log.info("Failed to resolve dependencies of configuration {} with message: {}",
-                    configuration.getName(), ex.getMessage());
-            return Collections.emptySet();
+                    configurationName, ex.getMessage());
+            return DependencyGraph.empty();
         }
     }
-
-    private ArtifactDependent<ArtifactDependency> getDependencyRoot() {
-        ResolvedComponentResult root = configuration.getIncoming().getResolutionResult().getRoot();
-        return () -> root.getDependencies().stream()
-                         .map(dependency -> ArtifactDependencyFactory.create(configuration, dependency))
-                         .filter(artifact -> artifact != null)
-                         .collect(Collectors.toList());
-    }
 }
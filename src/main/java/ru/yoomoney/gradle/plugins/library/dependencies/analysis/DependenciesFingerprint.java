@@ -0,0 +1,102 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.analysis;
+
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactDependency;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactNameSet;
+
+import javax.annotation.Nonnull;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Вычисляет отпечаток исходных данных проверки конфигурации: графа зависимостей, зафиксированных
+ * в dependencyManagement версий и объявленных в конфигурации зависимостей.
+ * Конфигурации с одинаковым отпечатком дают одинаковый результат проверки.
+ * <p>
+ * Отпечаток графа, без учета объявленных зависимостей, совпадает у конфигураций с одинаковыми результатами анализа
+ * конфликтов версий, см. {@link #ofGraph}.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class DependenciesFingerprint {
+
+    private DependenciesFingerprint() {
+    }
+
+    /**
+     * Вычисляет отпечаток конфигурации
+     *
+     * @param fixedDependencies    зафиксированные в dependencyManagement версии библиотек
+     * @param graph                граф зависимостей конфигурации
+     * @param declaredDependencies объявленные в конфигурации зависимости в формате group:name:version
+     * @return отпечаток в шестнадцатеричном виде
+     */
+    public static String of(@Nonnull ArtifactNameSet fixedDependencies, @Nonnull DependencyGraph graph,
+                            @Nonnull Collection<String> declaredDependencies) {
+        // Строки хэшируются в исходном порядке, без сортировки: порядок зафиксированных версий библиотеки
+        // определяет используемую версию, порядок узлов графа - порядок конфликтов в отчете,
+        // а порядок зависимостей узла - порядок найденных путей
+        MessageDigest digest = createDigest();
+        for (ArtifactName fixedDependency : fixedDependencies) {
+            update(digest, "fixed " + fixedDependency.getLibraryName() + ":" + fixedDependency.getVersion());
+        }
+        for (String dependency : declaredDependencies) {
+            update(digest, "declared " + dependency);
+        }
+        update(digest, "root " + describe(graph.rootDependencies()));
+        for (ArtifactDependency dependency : graph.allDependencies()) {
+            update(digest, "node " + describe(dependency) + " " + describe(dependency.getDependencies()));
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Вычисляет отпечаток графа зависимостей конфигурации вместе с зафиксированными версиями
+     *
+     * @param fixedDependencies зафиксированные в dependencyManagement версии библиотек
+     * @param graph             граф зависимостей конфигурации
+     * @return отпечаток в шестнадцатеричном виде
+     */
+    public static String ofGraph(@Nonnull ArtifactNameSet fixedDependencies, @Nonnull DependencyGraph graph) {
+        return of(fixedDependencies, graph, Collections.emptyList());
+    }
+
+    private static void update(MessageDigest digest, String line) {
+        digest.update(line.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    private static String describe(List<ArtifactDependency> dependencies) {
+        StringBuilder description = new StringBuilder("[");
+        for (ArtifactDependency dependency : dependencies) {
+            description.append(describe(dependency)).append(',');
+        }
+        return description.append(']').toString();
+    }
+
+    private static String describe(ArtifactDependency dependency) {
+        return dependency.getRequestedLibraryName() + ":" + dependency.getRequestedVersion()
+                + "->" + dependency.getSelectedLibraryName() + ":" + dependency.getSelectedVersion();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte value : bytes) {
+            hex.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,381 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.analysis;
+
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ComponentSelector;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.artifacts.result.UnresolvedDependencyResult;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactDependency;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Неизменяемый снимок графа зависимостей конфигурации.
+ * <p>
+ * Строится один раз по результату резолва конфигурации. Каждая различная зависимость (запрошенный артефакт и выбранный
+ * для него компонент) получает целочисленный идентификатор, а ребра графа хранятся в массивах идентификаторов.
+ * Зависимости, для которых выбран один и тот же компонент, разделяют один массив его зависимостей.
+ * Объекты {@link ArtifactDependency} создаются для каждой зависимости один раз и переиспользуются при всех обходах графа,
+ * а имена артефактов берутся из общего {@link NamePool}.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class DependencyGraph {
+    private static final int[] NO_DEPENDENCIES = new int[0];
+
+    private final Node[] nodes;
+    private final int[][] adjacency;
+    private final int[] rootDependencies;
+
+    private DependencyGraph(Node[] nodes, int[][] adjacency, int[] rootDependencies) {
+        this.nodes = nodes;
+        this.adjacency = adjacency;
+        this.rootDependencies = rootDependencies;
+    }
+
+    /**
+     * Строит снимок графа зависимостей, начиная с корневого компонента результата резолва конфигурации
+     *
+     * @param root     корневой компонент
+     * @param namePool пул имен артефактов
+     * @return снимок графа зависимостей
+     */
+    public static DependencyGraph of(@Nonnull ResolvedComponentResult root, @Nonnull NamePool namePool) {
+        return new GraphBuilder(namePool).build(root);
+    }
+
+    /**
+     * Возвращает пустой граф зависимостей
+     *
+     * @return пустой граф
+     */
+    public static DependencyGraph empty() {
+        return new DependencyGraph(new Node[0], new int[0][], NO_DEPENDENCIES);
+    }
+
+    /**
+     * Восстанавливает граф зависимостей из сериализуемого снимка
+     *
+     * @param snapshot снимок графа, см. {@link #snapshot()}
+     * @param namePool пул имен артефактов
+     * @return граф зависимостей
+     */
+    public static DependencyGraph fromSnapshot(@Nonnull Snapshot snapshot, @Nonnull NamePool namePool) {
+        int nodesCount = snapshot.adjacency.length;
+        Node[] nodes = new Node[nodesCount];
+        DependencyGraph graph = new DependencyGraph(nodes, snapshot.adjacency, snapshot.rootDependencies);
+        for (int id = 0; id < nodesCount; id++) {
+            nodes[id] = graph.new Node(id, Snapshot.artifact(snapshot.requestedNames, id, namePool),
+                    Snapshot.artifact(snapshot.selectedNames, id, namePool));
+        }
+        return graph;
+    }
+
+    /**
+     * Возвращает сериализуемый снимок графа, который может быть передан в другой процесс или поток
+     * и восстановлен методом {@link #fromSnapshot}
+     *
+     * @return снимок графа
+     */
+    public Snapshot snapshot() {
+        String[] requestedNames = new String[nodes.length * Snapshot.NAME_PARTS];
+        String[] selectedNames = new String[nodes.length * Snapshot.NAME_PARTS];
+        for (Node node : nodes) {
+            Snapshot.putArtifact(requestedNames, node.id, node.requestedName);
+            Snapshot.putArtifact(selectedNames, node.id, node.selectedName);
+        }
+        return new Snapshot(requestedNames, selectedNames, adjacency, rootDependencies);
+    }
+
+    /**
+     * Возвращает число различных зависимостей в графе
+     *
+     * @return число зависимостей
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Возвращает прямые зависимости конфигурации
+     *
+     * @return список прямых зависимостей
+     */
+    public List<ArtifactDependency> rootDependencies() {
+        return new NodeList(rootDependencies);
+    }
+
+    /**
+     * Возвращает все различные зависимости (прямые и транзитивные) конфигурации
+     *
+     * @return список зависимостей
+     */
+    public List<ArtifactDependency> allDependencies() {
+        return Collections.unmodifiableList(Arrays.asList(nodes));
+    }
+
+    /**
+     * Список зависимостей, заданный массивом идентификаторов
+     */
+    private final class NodeList extends AbstractList<ArtifactDependency> {
+        private final int[] nodeIds;
+
+        private NodeList(int[] nodeIds) {
+            this.nodeIds = nodeIds;
+        }
+
+        @Override
+        public ArtifactDependency get(int index) {
+            return nodes[nodeIds[index]];
+        }
+
+        @Override
+        public int size() {
+            return nodeIds.length;
+        }
+    }
+
+    /**
+     * Зависимость в графе
+     */
+    private final class Node implements ArtifactDependency {
+        private final int id;
+        private final ArtifactName requestedName;
+        private final ArtifactName selectedName;
+
+        private Node(int id, ArtifactName requestedName, ArtifactName selectedName) {
+            this.id = id;
+            this.requestedName = requestedName;
+            this.selectedName = selectedName;
+        }
+
+        @Override
+        public LibraryName getRequestedLibraryName() {
+            return requestedName.getLibraryName();
+        }
+
+        @Override
+        public String getRequestedVersion() {
+            return requestedName.getVersion();
+        }
+
+        @Override
+        public LibraryName getSelectedLibraryName() {
+            return selectedName.getLibraryName();
+        }
+
+        @Override
+        public String getSelectedVersion() {
+            return selectedName.getVersion();
+        }
+
+        @Override
+        public ArtifactName getName() {
+            return requestedName;
+        }
+
+        @Override
+        public ArtifactName getRequestedArtifactName() {
+            return requestedName;
+        }
+
+        @Override
+        public ArtifactName getSelectedArtifactName() {
+            return selectedName;
+        }
+
+        @Override
+        public List<ArtifactDependency> getDependencies() {
+            return new NodeList(adjacency[id]);
+        }
+
+        @Override
+        public String toString() {
+            return requestedName + " -> " + selectedName;
+        }
+    }
+
+    /**
+     * Сериализуемый снимок графа зависимостей.
+     * Имена артефактов хранятся строками (группа, имя, версия), ребра графа - массивами идентификаторов зависимостей.
+     */
+    public static final class Snapshot implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private static final int NAME_PARTS = 3;
+
+        private final String[] requestedNames;
+        private final String[] selectedNames;
+        private final int[][] adjacency;
+        private final int[] rootDependencies;
+
+        private Snapshot(String[] requestedNames, String[] selectedNames, int[][] adjacency, int[] rootDependencies) {
+            this.requestedNames = requestedNames;
+            this.selectedNames = selectedNames;
+            this.adjacency = adjacency;
+            this.rootDependencies = rootDependencies;
+        }
+
+        private static void putArtifact(String[] names, int id, ArtifactName artifactName) {
+            names[id * NAME_PARTS] = artifactName.getLibraryName().getGroup();
+            names[id * NAME_PARTS + 1] = artifactName.getLibraryName().getName();
+            names[id * NAME_PARTS + 2] = artifactName.getVersion();
+        }
+
+        private static ArtifactName artifact(String[] names, int id, NamePool namePool) {
+            return namePool.artifact(names[id * NAME_PARTS], names[id * NAME_PARTS + 1], names[id * NAME_PARTS + 2]);
+        }
+    }
+
+    /**
+     * Строит снимок графа обходом результата резолва в ширину
+     */
+    private static final class GraphBuilder {
+        private final NamePool namePool;
+        private final Map<DependencyKey, Integer> nodeIds = new HashMap<>();
+        private final List<ArtifactName> requestedNames = new ArrayList<>();
+        private final List<ArtifactName> selectedNames = new ArrayList<>();
+        private final List<ComponentIdentifier> selectedComponents = new ArrayList<>();
+        private final Map<ComponentIdentifier, int[]> componentDependencies = new HashMap<>();
+        private final Deque<ResolvedComponentResult> pendingComponents = new ArrayDeque<>();
+
+        private GraphBuilder(NamePool namePool) {
+            this.namePool = namePool;
+        }
+
+        private DependencyGraph build(ResolvedComponentResult root) {
+            int[] rootDependencies = collectDependencies(root);
+            componentDependencies.put(root.getId(), rootDependencies);
+
+            while (!pendingComponents.isEmpty()) {
+                ResolvedComponentResult component = pendingComponents.poll();
+                if (!componentDependencies.containsKey(component.getId())) {
+                    componentDependencies.put(component.getId(), collectDependencies(component));
+                }
+            }
+
+            int nodesCount = requestedNames.size();
+            int[][] adjacency = new int[nodesCount][];
+            for (int id = 0; id < nodesCount; id++) {
+                ComponentIdentifier selectedComponent = selectedComponents.get(id);
+                adjacency[id] = selectedComponent == null ? NO_DEPENDENCIES : componentDependencies.get(selectedComponent);
+            }
+
+            Node[] nodes = new Node[nodesCount];
+            DependencyGraph graph = new DependencyGraph(nodes, adjacency, rootDependencies);
+            for (int id = 0; id < nodesCount; id++) {
+                nodes[id] = graph.new Node(id, requestedNames.get(id), selectedNames.get(id));
+            }
+            return graph;
+        }
+
+        private int[] collectDependencies(ResolvedComponentResult component) {
+            int[] dependencies = new int[component.getDependencies().size()];
+            int count = 0;
+            for (DependencyResult dependency : component.getDependencies()) {
+                int id = internDependency(dependency);
+                if (id >= 0) {
+                    dependencies[count++] = id;
+                }
+            }
+            return count == 0 ? NO_DEPENDENCIES : Arrays.copyOf(dependencies, count);
+        }
+
+        /**
+         * Возвращает идентификатор зависимости, -1 если зависимость не является зависимостью от модуля
+         */
+        private int internDependency(DependencyResult dependency) {
+            ComponentSelector selector = dependency.getRequested();
+            if (!(selector instanceof ModuleComponentSelector)) {
+                return -1;
+            }
+            ModuleComponentSelector moduleSelector = (ModuleComponentSelector) selector;
+
+            ResolvedComponentResult selectedComponent = null;
+            if (dependency instanceof ResolvedDependencyResult) {
+                selectedComponent = ((ResolvedDependencyResult) dependency).getSelected();
+            } else if (!(dependency instanceof UnresolvedDependencyResult)) {
+                return -1;
+            }
+
+            ComponentIdentifier selectedId = selectedComponent == null ? null : selectedComponent.getId();
+            ArtifactName requestedName = namePool.artifact(moduleSelector.getGroup(), moduleSelector.getModule(),
+                    moduleSelector.getVersion());
+            DependencyKey key = new DependencyKey(requestedName, selectedId);
+            Integer existingId = nodeIds.get(key);
+            if (existingId != null) {
+                return existingId;
+            }
+
+            int id = requestedNames.size();
+            nodeIds.put(key, id);
+            requestedNames.add(requestedName);
+            selectedNames.add(selectedName(requestedName, selectedComponent));
+            selectedComponents.add(selectedId);
+            if (selectedComponent != null && !componentDependencies.containsKey(selectedId)) {
+                pendingComponents.add(selectedComponent);
+            }
+            return id;
+        }
+
+        private ArtifactName selectedName(ArtifactName requestedName,
+                                                 @Nullable ResolvedComponentResult selectedComponent) {
+            if (selectedComponent == null) {
+                return requestedName;
+            }
+            return namePool.artifact(selectedComponent.getModuleVersion().getGroup(),
+                    selectedComponent.getModuleVersion().getName(),
+                    selectedComponent.getModuleVersion().getVersion());
+        }
+    }
+
+    /**
+     * Ключ различной зависимости: запрошенный артефакт и выбранный для него компонент
+     */
+    private static final class DependencyKey {
+        private final ArtifactName requestedName;
+        @Nullable
+        private final ComponentIdentifier selectedId;
+        private final int hashCode;
+
+        private DependencyKey(ArtifactName requestedName, @Nullable ComponentIdentifier selectedId) {
+            this.requestedName = requestedName;
+            this.selectedId = selectedId;
+            this.hashCode = 31 * requestedName.hashCode() + Objects.hashCode(selectedId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DependencyKey that = (DependencyKey) o;
+            return requestedName.equals(that.requestedName) && Objects.equals(selectedId, that.selectedId);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -3,17 +3,25 @@ package ru.yoomoney.gradle.plugins.library.dependencies.analysis;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.Artifact;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.DependencyPath;
 
+import javax.annotation.Nullable;
 import java.util.LinkedList;
 
 /**
- * Последовательно строит путь до зависимости
+ * Последовательно строит путь до зависимости.
+ * <p>
+ * Путь неизменяемый и хранится ссылкой на последнюю зависимость и путь до нее, так что пути, имеющие общее начало,
+ * разделяют его между собой. Список зависимостей создается только при построении {@link DependencyPath}.
  *
  * @param <ArtifactT> тип артефакта
  * @author Konstantin Novokreshchenov
  * @since 13.03.2017
  */
-public class DependencyPathBuilder<ArtifactT extends Artifact<ArtifactT>> implements Cloneable {
-    private final LinkedList<ArtifactT> dependencies;
+public class DependencyPathBuilder<ArtifactT extends Artifact<ArtifactT>> {
+    @Nullable
+    private final DependencyPathBuilder<ArtifactT> parent;
+    @Nullable
+    private final ArtifactT dependency;
+    private final int length;
 
     /**
      * Создает новый инстанс класса с пустым путем зависимых артефактов
@@ -22,36 +30,44 @@ public class DependencyPathBuilder<ArtifactT extends Artifact<ArtifactT>> implem
      * @return новый инстанс класса
      */
     static <T extends Artifact<T>> DependencyPathBuilder<T> create() {
-        return new DependencyPathBuilder<>();
+        return new DependencyPathBuilder<>(null, null);
     }
 
-    private DependencyPathBuilder() {
-        this(new LinkedList<>());
-    }
-
-    private DependencyPathBuilder(LinkedList<ArtifactT> dependencies) {
-        this.dependencies = dependencies;
+    private DependencyPathBuilder(@Nullable DependencyPathBuilder<ArtifactT> parent, @Nullable ArtifactT dependency) {
+        this.parent = parent;
+        this.dependency = dependency;
+        this.length = parent == null ? 0 : parent.length + 1;
     }
 
     /**
-     * Добавляет в конец текущего пути данную зависимость
+     * Создает путь, продолженный данной зависимостью. Текущий путь не изменяется
      *
      * @param dependency добавляемая зависимость
-     * @return текущий инстанс билдера
+     * @return новый экземпляр билдера
      */
     DependencyPathBuilder<ArtifactT> add(ArtifactT dependency) {
-        dependencies.add(dependency);
-        return this;
+        return new DependencyPathBuilder<>(this, dependency);
     }
 
     /**
-     * Создает новый билдер, который хранит копию текущего пути до зависимости
+     * Возвращает число зависимостей в пути
      *
-     * @return новый экземпляр билдера
+     * @return длина пути
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Возвращает последнюю зависимость пути
+     *
+     * @return последняя зависимость
      */
-    @SuppressWarnings("unchecked")
-    DependencyPathBuilder<ArtifactT> copy() {
-        return new DependencyPathBuilder((LinkedList<ArtifactT>) dependencies.clone());
+    ArtifactT getLastDependency() {
+        if (dependency == null) {
+            throw new IllegalStateException("Dependency path is empty");
+        }
+        return dependency;
     }
 
     /**
@@ -60,6 +76,10 @@ public class DependencyPathBuilder<ArtifactT extends Artifact<ArtifactT>> implem
      * @return путь до зависимости
      */
     DependencyPath<ArtifactT> build() {
+        LinkedList<ArtifactT> dependencies = new LinkedList<>();
+        for (DependencyPathBuilder<ArtifactT> node = this; node.parent != null; node = node.parent) {
+            dependencies.addFirst(node.dependency);
+        }
         return new DependencyPath<>(dependencies);
     }
 
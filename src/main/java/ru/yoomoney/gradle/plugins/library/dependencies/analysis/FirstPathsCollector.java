@@ -0,0 +1,60 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.analysis;
+
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.Artifact;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.DependencyPath;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Хранит не более заданного числа первых найденных путей до зависимости и возвращает их упорядоченными по длине.
+ * Пути одинаковой длины возвращаются в порядке обнаружения.
+ *
+ * @param <ArtifactT> тип артефакта
+ * @author agent
+ * @since 18.10.2026
+ */
+class FirstPathsCollector<ArtifactT extends Artifact<ArtifactT>> {
+    private static final Comparator<DependencyPathBuilder<?>> LENGTH_ORDER =
+            Comparator.comparingInt(DependencyPathBuilder::length);
+
+    private final int maxPaths;
+    private final List<DependencyPathBuilder<ArtifactT>> paths = new ArrayList<>();
+
+    /**
+     * Конструктор класса
+     *
+     * @param maxPaths максимальное число хранимых путей
+     */
+    FirstPathsCollector(int maxPaths) {
+        this.maxPaths = maxPaths;
+    }
+
+    /**
+     * Добавляет найденный путь. Путь сохраняется, если еще не найдено максимальное число путей
+     *
+     * @param pathBuilder найденный путь
+     */
+    void add(DependencyPathBuilder<ArtifactT> pathBuilder) {
+        if (paths.size() < maxPaths) {
+            paths.add(pathBuilder);
+        }
+    }
+
+    /**
+     * Возвращает сохраненные пути, упорядоченные по возрастанию длины
+     *
+     * @return сохраненные пути
+     */
+    List<DependencyPath<ArtifactT>> getPaths() {
+        List<DependencyPathBuilder<ArtifactT>> sortedPaths = new ArrayList<>(paths);
+        sortedPaths.sort(LENGTH_ORDER);
+
+        List<DependencyPath<ArtifactT>> result = new ArrayList<>(sortedPaths.size());
+        for (DependencyPathBuilder<ArtifactT> path : sortedPaths) {
+            result.add(path.build());
+        }
+        return result;
+    }
+}
@@ -3,11 +3,15 @@ package ru.yoomoney.gradle.plugins.library.dependencies.analysis;
 import io.spring.gradle.dependencymanagement.dsl.DependencyManagementExtension;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.provider.Provider;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactNameSet;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool;
 
 import javax.annotation.Nonnull;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -19,70 +23,132 @@ import java.util.stream.Collectors;
  * @since 13.03.2017
  */
 public class FixedDependencies {
+    private final ManagedDependenciesLoader loader;
     /**
      * Хранит отображение имени конфигурации в набор зависимостей, указанных в секции dependencyManagement
      */
-    private final Map<String, ArtifactNameSet> configurationManagedDependencies;
+    private final Map<String, ArtifactNameSet> configurationManagedDependencies = new HashMap<>();
 
     /**
-     * Жадно загружает все зависимости, указанные в секции dependencyManagement, для каждой из конфигураций проекта.
+     * Загружает версии, зафиксированные в секции dependencyManagement, для переданных конфигураций проекта.
      * Использует результат работы стороннего плагина <i>io.spring.dependency-management</i>
      *
-     * ВАЖНО: необходимо загрузить все managed-зависимости до первого резолва зависимостей,
+     * ВАЖНО: необходимо загрузить managed-зависимости всех проверяемых конфигураций до первого резолва зависимостей,
      * который происходит при первом обращении к resolution result любой конфигурации.
      * Иначе результат вызова {@link DependencyManagementExtension#getManagedVersionsForConfigurationHierarchy(Configuration)}
      * для каждой следующей конфигурации содержит также прямые зависимости конфигурации.
      *
      * @param project текущий проект
+     * @param configurations проверяемые конфигурации проекта
+     * @return отображение имени конфигурации в зафиксированные версии библиотек (group:name -> version)
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Map<String, String>> loadManagedVersions(@Nonnull Project project,
+                                                                      @Nonnull Iterable<Configuration> configurations) {
+        DependencyManagementExtension dependencyManagement =
+                project.getExtensions().getByType(DependencyManagementExtension.class);
+        Map<String, Map<String, String>> managedVersions = new LinkedHashMap<>();
+        configurations.forEach(configuration -> managedVersions.put(configuration.getName(),
+                new LinkedHashMap<>(dependencyManagement.getManagedVersionsForConfigurationHierarchy(configuration))));
+        return managedVersions;
+    }
+
+    /**
+     * Возвращает провайдер версий, зафиксированных в секции dependencyManagement, см. {@link #loadManagedVersions}.
+     * Версии загружаются один раз при первом обращении к провайдеру, последующие обращения, в том числе
+     * после резолва конфигураций, возвращают уже загруженные версии
+     *
+     * @param project текущий проект
+     * @param configurations проверяемые конфигурации проекта
+     * @return провайдер отображения имени конфигурации в зафиксированные версии библиотек (group:name -> version)
+     */
+    public static Provider<Map<String, Map<String, String>>> provideManagedVersions(
+            @Nonnull Project project,
+            @Nonnull Iterable<Configuration> configurations) {
+        return project.provider(new LoadedManagedVersions(project, configurations)::get);
+    }
+
+    /**
+     * Создает объект класса по зафиксированным версиям проверяемых конфигураций, см. {@link #loadManagedVersions}.
+     * Наборы имен артефактов создаются при первом обращении к конфигурации, обращаться можно только
+     * к конфигурациям, версии которых загружены
+     *
+     * @param managedVersions отображение имени конфигурации в зафиксированные версии библиотек
+     * @param namePool пул имен библиотек
      * @return объект класса
      */
-    public static FixedDependencies from(Project project) {
-        ManagedDependenciesLoader loader = new ManagedDependenciesLoader(project);
-        Map<String, ArtifactNameSet> configurationManagedDependencies = project.getConfigurations().stream()
-                                                                               .collect(Collectors.toMap(Configuration::getName,
-                                                                                                         loader::loadManagedDependencies));
-        return new FixedDependencies(configurationManagedDependencies);
+    public static FixedDependencies from(@Nonnull Map<String, Map<String, String>> managedVersions,
+                                         @Nonnull NamePool namePool) {
+        return new FixedDependencies(new ManagedDependenciesLoader(managedVersions, namePool));
     }
 
-    private FixedDependencies(Map<String, ArtifactNameSet> configurationManagedDependencies) {
-        this.configurationManagedDependencies = configurationManagedDependencies;
+    private FixedDependencies(ManagedDependenciesLoader loader) {
+        this.loader = loader;
     }
 
     /**
      * Возвращает набор имен артефактов, указанных в секции dependencyManagement, для данной конфигурации
      *
-     * @param configuration конфигурация, для которой необходимо получить набор имен артефактов
+     * @param configurationName имя конфигурации, для которой необходимо получить набор имен артефактов
      * @return набор имен артефактов, указанных в секции dependencyManagement
+     * @throws IllegalArgumentException если зафиксированные версии конфигурации не были загружены
      */
-    public ArtifactNameSet forConfiguration(@Nonnull Configuration configuration) {
-        return configurationManagedDependencies.get(configuration.getName());
+    public ArtifactNameSet forConfiguration(@Nonnull String configurationName) {
+        return configurationManagedDependencies.computeIfAbsent(configurationName, loader::loadManagedDependencies);
     }
 
-    private static class ManagedDependenciesLoader {
+    /**
+     * Загружает зафиксированные версии при первом обращении и запоминает их
+     */
+    private static class LoadedManagedVersions {
         private final Project project;
+        private final Iterable<Configuration> configurations;
+        private Map<String, Map<String, String>> managedVersions;
+        private boolean loaded;
 
-        private ManagedDependenciesLoader(Project project) {
+        private LoadedManagedVersions(Project project, Iterable<Configuration> configurations) {
             this.project = project;
+            this.configurations = configurations;
         }
 
-        ArtifactNameSet loadManagedDependencies(@Nonnull Configuration configuration) {
-            return ArtifactNameSet.fromLibraryVersions(getManagedLibraries(configuration));
+        synchronized Map<String, Map<String, String>> get() {
+            if (!loaded) {
+                managedVersions = loadManagedVersions(project, configurations);
+                loaded = true;
+            }
+            return managedVersions;
         }
+    }
 
-        private Map<LibraryName, Set<String>> getManagedLibraries(@Nonnull Configuration configuration) {
-            return getManagedLibraryVersions(configuration)
-                    .entrySet().stream()
-                    .collect(Collectors.toMap(entry -> LibraryName.parse(entry.getKey()),
-                            entry -> Collections.singleton(entry.getValue())));
+    private static class ManagedDependenciesLoader {
+        private final Map<String, Map<String, String>> managedVersions;
+        private final NamePool namePool;
+        /**
+         * Наборы имен артефактов по зафиксированным версиям. Конфигурации с одинаковыми зафиксированными версиями
+         * (например, наследующие их через extendsFrom) используют один набор
+         */
+        private final Map<Map<String, String>, ArtifactNameSet> sharedManagedDependencies = new HashMap<>();
+
+        private ManagedDependenciesLoader(Map<String, Map<String, String>> managedVersions, NamePool namePool) {
+            this.managedVersions = managedVersions;
+            this.namePool = namePool;
         }
 
-        @SuppressWarnings("unchecked")
-        private Map<String, String> getManagedLibraryVersions(@Nonnull Configuration configuration) {
-            return getDependencyManagementExtension().getManagedVersionsForConfigurationHierarchy(configuration);
+        ArtifactNameSet loadManagedDependencies(@Nonnull String configurationName) {
+            if (!managedVersions.containsKey(configurationName)) {
+                throw new IllegalArgumentException("Managed versions are not loaded for configuration: "
+                        + configurationName);
+            }
+            Map<String, String> managedLibraryVersions = new HashMap<>(managedVersions.get(configurationName));
+            return sharedManagedDependencies.computeIfAbsent(managedLibraryVersions,
+                    versions -> ArtifactNameSet.fromLibraryVersions(getManagedLibraries(versions)));
         }
 
-        private DependencyManagementExtension getDependencyManagementExtension() {
-            return project.getExtensions().getByType(DependencyManagementExtension.class);
+        private Map<LibraryName, Set<String>> getManagedLibraries(@Nonnull Map<String, String> managedLibraryVersions) {
+            return managedLibraryVersions
+                    .entrySet().stream()
+                    .collect(Collectors.toMap(entry -> namePool.parseLibrary(entry.getKey()),
+                            entry -> Collections.singleton(entry.getValue())));
         }
     }
 }
@@ -1,11 +1,10 @@
 package ru.yoomoney.gradle.plugins.library.dependencies.analysis.conflicts;
 
-import org.gradle.api.artifacts.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.yoomoney.gradle.plugins.library.dependencies.analysis.ArtifactDependentPathsFinder;
 import ru.yoomoney.gradle.plugins.library.dependencies.analysis.ConfigurationDependencies;
-import ru.yoomoney.gradle.plugins.library.dependencies.analysis.FixedDependencies;
+import ru.yoomoney.gradle.plugins.library.dependencies.analysis.DependencyGraph;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactDependency;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactDependent;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactName;
@@ -17,11 +16,11 @@ import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.Predicate;
 
 /**
  * Анализирует заданную конфигурацию проекта на наличие конфликтов версий между требуемыми и фиксированными версиями библиотек
@@ -32,32 +31,51 @@ import java.util.function.Predicate;
 public class ConfigurationConflictsAnalyzer {
     private final Logger log = LoggerFactory.getLogger(ConfigurationConflictsAnalyzer.class);
 
-    private final ConfigurationDependencies dependencies;
+    private final DependencyGraph dependencies;
     private final ArtifactNameSet fixedDependencies;
+    private final int maxConflictPaths;
 
     /**
      * Фабричный метод для создания объекта класса.
      *
-     * @param projectFixedDependencies зависимости проекта, указанные в dependencyManagement секции
-     * @param configuration проверяемая конфигурация проекта
+     * @param fixedDependencies зависимости конфигурации, указанные в dependencyManagement секции
+     * @param dependencies граф зависимостей проверяемой конфигурации проекта
+     * @param maxConflictPaths максимальное число сохраняемых путей до библиотеки для каждого конфликта
      * @return новый объект класса для анализа конфиктов в конфигурации
      */
-    public static ConfigurationConflictsAnalyzer create(@Nonnull FixedDependencies projectFixedDependencies,
-                                                        @Nonnull Configuration configuration) {
-        ArtifactNameSet configurationFixedDependencies = projectFixedDependencies.forConfiguration(configuration);
-        return new ConfigurationConflictsAnalyzer(configuration, configurationFixedDependencies);
+    public static ConfigurationConflictsAnalyzer create(@Nonnull ArtifactNameSet fixedDependencies,
+                                                        @Nonnull ConfigurationDependencies dependencies,
+                                                        int maxConflictPaths) {
+        return create(fixedDependencies, dependencies.getGraph(), maxConflictPaths);
+    }
+
+    /**
+     * Фабричный метод для создания объекта класса по снимку графа зависимостей.
+     *
+     * @param fixedDependencies зависимости конфигурации, указанные в dependencyManagement секции
+     * @param graph граф зависимостей проверяемой конфигурации проекта
+     * @param maxConflictPaths максимальное число сохраняемых путей до библиотеки для каждого конфликта
+     * @return новый объект класса для анализа конфиктов в конфигурации
+     */
+    public static ConfigurationConflictsAnalyzer create(@Nonnull ArtifactNameSet fixedDependencies,
+                                                        @Nonnull DependencyGraph graph,
+                                                        int maxConflictPaths) {
+        return new ConfigurationConflictsAnalyzer(graph, fixedDependencies, maxConflictPaths);
     }
 
     /**
      * Конструктор класса
      *
-     * @param configuration объект конфигурации проекта
+     * @param dependencies граф зависимостей конфигурации проекта
      * @param fixedDependencies фиксированные зависимости проекта
+     * @param maxConflictPaths максимальное число сохраняемых путей до библиотеки для каждого конфликта
      */
-    private ConfigurationConflictsAnalyzer(@Nonnull Configuration configuration,
-                                           @Nonnull ArtifactNameSet fixedDependencies) {
-        this.dependencies = new ConfigurationDependencies(configuration);
+    private ConfigurationConflictsAnalyzer(@Nonnull DependencyGraph dependencies,
+                                           @Nonnull ArtifactNameSet fixedDependencies,
+                                           int maxConflictPaths) {
+        this.dependencies = dependencies;
         this.fixedDependencies = fixedDependencies;
+        this.maxConflictPaths = maxConflictPaths;
     }
 
     /**
@@ -78,7 +96,7 @@ public class ConfigurationConflictsAnalyzer {
      */
     private ArtifactNameSet getRequestedDependencies() {
         Map<LibraryName, Set<String>> requestedLibraryVersions = new HashMap<>();
-        for (ArtifactDependency artifact: dependencies.all()) {
+        for (ArtifactDependency artifact: dependencies.allDependencies()) {
             requestedLibraryVersions.computeIfAbsent(artifact.getRequestedLibraryName(), l -> new HashSet<>())
                     .add(artifact.getRequestedVersion());
         }
@@ -94,7 +112,7 @@ public class ConfigurationConflictsAnalyzer {
      */
     private List<ConflictedLibraryInfo> calculateConflictedLibraries(@Nonnull ArtifactNameSet fixedDependencies,
                                                                      @Nonnull ArtifactNameSet requestedDependencies) {
-        List<ConflictedLibraryInfo> conflictedLibraries = new ArrayList<>();
+        Map<ArtifactName, String> conflictedArtifacts = new LinkedHashMap<>();
 
         requestedDependencies.forEach(artifact -> {
             String requestedVersion = artifact.getVersion();
@@ -105,29 +123,35 @@ public class ConfigurationConflictsAnalyzer {
                 return;
             }
 
-            conflictedLibraries.add(createConflictInfo(artifact, fixedVersion));
+            conflictedArtifacts.put(artifact, fixedVersion);
         });
 
+        if (conflictedArtifacts.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<ArtifactName, List<DependencyPath<ArtifactDependency>>> conflictPaths =
+                findDependentPaths(conflictedArtifacts.keySet());
+
+        List<ConflictedLibraryInfo> conflictedLibraries = new ArrayList<>();
+        conflictedArtifacts.forEach((artifact, fixedVersion) -> conflictedLibraries.add(new ConflictedLibraryInfo(
+                artifact, fixedVersion, conflictPaths.getOrDefault(artifact, new ArrayList<>()))));
         return conflictedLibraries;
     }
 
     /**
-     * Ищет пути до запрашиваемой зависимости (артефакта) в графе зависимостей для конфигурации проекта
+     * Ищет пути до запрашиваемых зависимостей (артефактов) в графе зависимостей для конфигурации проекта
+     * за один обход графа. Для каждого артефакта сохраняется не более maxConflictPaths первых найденных путей,
+     * упорядоченных по длине
      *
-     * @param requestedArtifactName запрашиваемый артефакт
-     * @return список всех обнаруженных путей до запрашиваемого артефакта
+     * @param requestedArtifactNames запрашиваемые артефакты
+     * @return отображение запрашиваемого артефакта в список обнаруженных путей до него
      */
-    private List<DependencyPath<ArtifactDependency>> findDependentPaths(ArtifactName requestedArtifactName) {
-        ArtifactDependent<ArtifactDependency> root = dependencies.root();
-        Predicate<? super ArtifactName> isRequested = artifactName -> artifactName.equals(requestedArtifactName);
-        ArtifactDependentPathsFinder<ArtifactDependency> finder = new ArtifactDependentPathsFinder<>(root, isRequested);
-        return finder.findPaths();
-    }
-
-    private ConflictedLibraryInfo createConflictInfo(ArtifactName requestedArtifact, String fixedVersion) {
-        List<DependencyPath<ArtifactDependency>> conflictPaths = findDependentPaths(requestedArtifact);
-        ConflictedLibraryInfo conflictedLibraryInfo = new ConflictedLibraryInfo(requestedArtifact, fixedVersion, conflictPaths);
-
-        return conflictedLibraryInfo;
+    private Map<ArtifactName, List<DependencyPath<ArtifactDependency>>> findDependentPaths(
+            Set<ArtifactName> requestedArtifactNames) {
+        List<ArtifactDependency> rootDependencies = dependencies.rootDependencies();
+        ArtifactDependent<ArtifactDependency> root = () -> rootDependencies;
+        return ArtifactDependentPathsFinder.forTargets(root, requestedArtifactNames)
+                .findFirstPathsByTarget(maxConflictPaths);
     }
 }
@@ -13,7 +13,8 @@ import java.util.List;
  *     <li>имя библиотеки библиотеки {@link LibraryName}</li>
  *     <li>первоначальная запрашиваемая версия</li>
  *     <li>конечная версии после разрешения конфликта</li>
- *     <li>список путей зависимостей, в результате которых произошел конфликт</li>
+ *     <li>первые найденные пути зависимостей, в результате которых произошел конфликт, упорядоченные по длине.
+ *     Число путей ограничено настройкой {@code maxConflictPaths}</li>
  * </ul>
  * , ,
  *
@@ -0,0 +1,195 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.checkversion;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.GroupIdPrefixMatcher;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePoolService;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.Version;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Задача поиска конфликтов мажорных версий библиотек между проектами сборки.
+ * <p>
+ * Запрошенные версии каждого проекта, подключившего плагин, записываются в файл задачей
+ * {@link CollectRequestedVersionsTask} этого проекта. Задача читает эти файлы и строит по ним единый индекс:
+ * для каждой библиотеки определяются мажорные версии и проекты, в которых они используются. Конфликтом считается
+ * использование разных мажорных версий одной библиотеки в сборке.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+@CacheableTask
+public class CheckCrossProjectMajorVersionConflictsTask extends DefaultTask {
+    private FileCollection requestedVersionsFiles;
+    private boolean failBuild = true;
+    private Set<String> includeGroupIdPrefixes = new HashSet<>();
+    private Set<String> excludeDependencies = new HashSet<>();
+    private File reportFile;
+    private Provider<NamePoolService> namePoolService;
+
+    /**
+     * Проверяет конфликты мажорных версий между проектами
+     */
+    @TaskAction
+    public void checkCrossProjectMajorVersionConflicts() {
+        NamePool namePool = namePoolService.get().getNamePool();
+        Set<LibraryName> excludedLibraries = excludeDependencies.stream()
+                .map(namePool::parseLibrary)
+                .collect(Collectors.toSet());
+        GroupIdPrefixMatcher includeGroupIdMatcher = GroupIdPrefixMatcher.of(includeGroupIdPrefixes);
+
+        // библиотека -> мажорная версия -> проекты
+        Map<LibraryName, Map<String, Set<String>>> index = new TreeMap<>(
+                Comparator.comparing(LibraryName::getGroup).thenComparing(LibraryName::getName));
+        for (File requestedVersionsFile : requestedVersionsFiles) {
+            ProjectRequestedVersions projectVersions = readRequestedVersions(requestedVersionsFile);
+            projectVersions.getVersions().forEach(requestedVersion -> {
+                int nameStart = requestedVersion.indexOf(':');
+                int versionStart = requestedVersion.indexOf(':', nameStart + 1);
+                LibraryName libraryName = namePool.library(requestedVersion.substring(0, nameStart),
+                        requestedVersion.substring(nameStart + 1, versionStart));
+                if (excludedLibraries.contains(libraryName) || !includeGroupIdMatcher.matches(libraryName.getGroup())) {
+                    return;
+                }
+                String majorVersion = Version.parse(requestedVersion.substring(versionStart + 1)).getMajorPart();
+                index.computeIfAbsent(libraryName, name -> new TreeMap<>())
+                        .computeIfAbsent(majorVersion, major -> new TreeSet<>())
+                        .add(projectVersions.getProjectPath());
+            });
+        }
+
+        List<String> report = new ArrayList<>();
+        index.forEach((libraryName, projectsByMajorVersion) -> {
+            if (projectsByMajorVersion.size() > 1) {
+                String errorMsg = String.format("There is cross-project major version conflict for dependency=%s:%s, projects=%s",
+                        libraryName.getGroup(), libraryName.getName(), projectsByMajorVersion);
+                getLogger().error(errorMsg);
+                report.add(errorMsg);
+            }
+        });
+
+        writeReport(report);
+        if (failBuild && !report.isEmpty()) {
+            throw new GradleException("There are cross-project major version conflicts, see report: " + reportFile);
+        }
+    }
+
+    private static ProjectRequestedVersions readRequestedVersions(File requestedVersionsFile) {
+        try {
+            return ProjectRequestedVersions.read(requestedVersionsFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read requested versions: file=" + requestedVersionsFile, e);
+        }
+    }
+
+    private void writeReport(List<String> report) {
+        try {
+            Files.createDirectories(reportFile.getParentFile().toPath());
+            Files.write(reportFile.toPath(), report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write cross-project major version conflicts report: file=" + reportFile, e);
+        }
+    }
+
+    /**
+     * Файлы с запрошенными версиями библиотек проектов сборки, см. {@link CollectRequestedVersionsTask}
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public FileCollection getRequestedVersionsFiles() {
+        return requestedVersionsFiles;
+    }
+
+    public void setRequestedVersionsFiles(@Nonnull FileCollection requestedVersionsFiles) {
+        this.requestedVersionsFiles = requireNonNull(requestedVersionsFiles, "requestedVersionsFiles");
+    }
+
+    /**
+     * Останавливать ли сборку при найденных конфликтах, по умолчанию true
+     */
+    @Input
+    public boolean isFailBuild() {
+        return failBuild;
+    }
+
+    public void setFailBuild(boolean failBuild) {
+        this.failBuild = failBuild;
+    }
+
+    /**
+     * Префиксы groupId проверяемых библиотек, по умолчанию проверяются все библиотеки
+     */
+    @Input
+    public Set<String> getIncludeGroupIdPrefixes() {
+        return includeGroupIdPrefixes;
+    }
+
+    public void setIncludeGroupIdPrefixes(@Nonnull Set<String> includeGroupIdPrefixes) {
+        this.includeGroupIdPrefixes = new TreeSet<>(requireNonNull(includeGroupIdPrefixes, "includeGroupIdPrefixes"));
+    }
+
+    /**
+     * Библиотеки в формате group:name, исключенные из проверки
+     */
+    @Input
+    public Set<String> getExcludeDependencies() {
+        return excludeDependencies;
+    }
+
+    public void setExcludeDependencies(@Nonnull Set<String> excludeDependencies) {
+        this.excludeDependencies = new TreeSet<>(requireNonNull(excludeDependencies, "excludeDependencies"));
+    }
+
+    /**
+     * Файл с найденными конфликтами мажорных версий между проектами
+     */
+    @OutputFile
+    public File getReportFile() {
+        return reportFile;
+    }
+
+    public void setReportFile(@Nonnull File reportFile) {
+        this.reportFile = requireNonNull(reportFile, "reportFile");
+    }
+
+    /**
+     * Общий для сборки пул имен библиотек
+     */
+    @Internal
+    public Provider<NamePoolService> getNamePoolService() {
+        return namePoolService;
+    }
+
+    public void setNamePoolService(@Nonnull Provider<NamePoolService> namePoolService) {
+        this.namePoolService = requireNonNull(namePoolService, "namePoolService");
+    }
+}
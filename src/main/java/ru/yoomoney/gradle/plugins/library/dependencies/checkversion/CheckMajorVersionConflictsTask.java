@@ -0,0 +1,165 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.checkversion;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.GroupIdPrefixMatcher;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePoolService;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Задача проверки конфликтов мажорных версий библиотек.
+ * <p>
+ * В отличие от проверки правилами разрешения зависимостей, не добавляет работы в каждое разрешение конфигураций:
+ * запрошенные версии собираются из результата разрешения конфигурации только при запуске задачи.
+ * Результат проверки кэшируется по набору запрошенных версий и настройкам проверки.
+ * <p>
+ * Результат разрешения содержит зависимости только выбранных версий библиотек, поэтому, в отличие от правил,
+ * задача не видит версий, запрошенных вытесненными при разрешении конфликта версиями библиотек.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+@CacheableTask
+public class CheckMajorVersionConflictsTask extends DefaultTask {
+    private Provider<Map<String, List<String>>> requestedVersions;
+    private boolean failBuild;
+    private Set<String> includeGroupIdPrefixes;
+    private Set<String> excludeDependencies;
+    private File reportFile;
+    private Provider<NamePoolService> namePoolService;
+
+    /**
+     * Проверяет конфликты мажорных версий в каждой конфигурации
+     */
+    @TaskAction
+    public void checkMajorVersionConflicts() {
+        NamePool namePool = namePoolService.get().getNamePool();
+        Set<LibraryName> excludedLibraries = excludeDependencies.stream()
+                .map(namePool::parseLibrary)
+                .collect(Collectors.toSet());
+        GroupIdPrefixMatcher includeGroupIdMatcher = GroupIdPrefixMatcher.of(includeGroupIdPrefixes);
+
+        List<String> report = new ArrayList<>();
+        requestedVersions.get().forEach((configurationName, versions) -> {
+            MajorVersionConflicts conflicts = new MajorVersionConflicts();
+            FindAllVersionConflictAction findAllVersionConflictAction =
+                    new FindAllVersionConflictAction(excludedLibraries, includeGroupIdMatcher, conflicts, namePool);
+            versions.forEach(requestedVersion -> registerVersion(findAllVersionConflictAction, namePool, requestedVersion));
+
+            conflicts.getConflicts().forEach((libraryName, conflictVersions) -> {
+                String errorMsg = String.format("There is major version conflict for dependency=%s:%s, versions=%s, configuration=%s",
+                        libraryName.getGroup(), libraryName.getName(), new TreeSet<>(conflictVersions), configurationName);
+                getLogger().error(errorMsg);
+                report.add(errorMsg);
+            });
+        });
+
+        writeReport(report);
+        if (failBuild && !report.isEmpty()) {
+            throw new GradleException("There are major version conflicts, see report: " + reportFile);
+        }
+    }
+
+    private static void registerVersion(FindAllVersionConflictAction findAllVersionConflictAction, NamePool namePool,
+                                        String requestedVersion) {
+        int nameStart = requestedVersion.indexOf(':');
+        int versionStart = requestedVersion.indexOf(':', nameStart + 1);
+        findAllVersionConflictAction.registerVersion(
+                namePool.library(requestedVersion.substring(0, nameStart), requestedVersion.substring(nameStart + 1, versionStart)),
+                requestedVersion.substring(versionStart + 1));
+    }
+
+    private void writeReport(List<String> report) {
+        try {
+            Files.createDirectories(reportFile.getParentFile().toPath());
+            Files.write(reportFile.toPath(), report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write major version conflicts report: file=" + reportFile, e);
+        }
+    }
+
+    /**
+     * Запрошенные версии библиотек в формате group:name:version для каждой проверяемой конфигурации
+     */
+    @Input
+    public Provider<Map<String, List<String>>> getRequestedVersions() {
+        return requestedVersions;
+    }
+
+    public void setRequestedVersions(@Nonnull Provider<Map<String, List<String>>> requestedVersions) {
+        this.requestedVersions = requireNonNull(requestedVersions, "requestedVersions");
+    }
+
+    @Input
+    public boolean isFailBuild() {
+        return failBuild;
+    }
+
+    public void setFailBuild(boolean failBuild) {
+        this.failBuild = failBuild;
+    }
+
+    @Input
+    public Set<String> getIncludeGroupIdPrefixes() {
+        return includeGroupIdPrefixes;
+    }
+
+    public void setIncludeGroupIdPrefixes(@Nonnull Set<String> includeGroupIdPrefixes) {
+        this.includeGroupIdPrefixes = requireNonNull(includeGroupIdPrefixes, "includeGroupIdPrefixes");
+    }
+
+    @Input
+    public Set<String> getExcludeDependencies() {
+        return excludeDependencies;
+    }
+
+    public void setExcludeDependencies(@Nonnull Set<String> excludeDependencies) {
+        this.excludeDependencies = requireNonNull(excludeDependencies, "excludeDependencies");
+    }
+
+    /**
+     * Файл с найденными конфликтами мажорных версий
+     */
+    @OutputFile
+    public File getReportFile() {
+        return reportFile;
+    }
+
+    public void setReportFile(@Nonnull File reportFile) {
+        this.reportFile = requireNonNull(reportFile, "reportFile");
+    }
+
+    /**
+     * Общий для сборки пул имен библиотек
+     */
+    @Internal
+    public Provider<NamePoolService> getNamePoolService() {
+        return namePoolService;
+    }
+
+    public void setNamePoolService(@Nonnull Provider<NamePoolService> namePoolService) {
+        this.namePoolService = requireNonNull(namePoolService, "namePoolService");
+    }
+}
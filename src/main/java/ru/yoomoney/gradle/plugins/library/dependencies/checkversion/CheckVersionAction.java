@@ -7,9 +7,9 @@ import org.gradle.api.artifacts.DependencyResolveDetails;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -22,24 +22,33 @@ class CheckVersionAction implements Action<DependencyResolveDetails> {
     private static final Logger log = LoggerFactory.getLogger(CheckVersionAction.class);
 
     private final Project project;
-    private final Map<LibraryName, Set<String>> conflictModules;
+    private final MajorVersionConflicts conflicts;
     private final Boolean failBuild;
+    private final NamePool namePool;
 
-    CheckVersionAction(Project project, Map<LibraryName, Set<String>> conflictModules,
-                       MajorVersionCheckerExtension majorVersionCheckerExtension) {
+    CheckVersionAction(Project project, MajorVersionConflicts conflicts,
+                       MajorVersionCheckerExtension majorVersionCheckerExtension, NamePool namePool) {
         this.project = project;
-        this.conflictModules = conflictModules;
+        this.conflicts = conflicts;
         this.failBuild = majorVersionCheckerExtension.failBuild;
+        this.namePool = namePool;
     }
 
     @Override
     public void execute(DependencyResolveDetails dependency) {
+        checkConflict(namePool.library(dependency.getRequested().getGroup(), dependency.getRequested().getName()));
+    }
 
-        LibraryName libraryName = new LibraryName(dependency.getRequested().getGroup(), dependency.getRequested().getName());
-
-        if (conflictModules.containsKey(libraryName)) {
+    /**
+     * Сообщает о конфликте мажорных версий библиотеки, если он найден
+     *
+     * @param libraryName имя библиотеки
+     */
+    void checkConflict(LibraryName libraryName) {
+        Set<String> conflictVersions = conflicts.getConflictVersions(libraryName);
+        if (conflictVersions != null) {
             String errorMsg = String.format("There is major version conflict for dependency=%s:%s, versions=%s",
-                    libraryName.getGroup(), libraryName.getName(), conflictModules.get(libraryName));
+                    libraryName.getGroup(), libraryName.getName(), conflictVersions);
             log.error(errorMsg);
 
             if (failBuild && !isDependenciesTask()) {
@@ -0,0 +1,87 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.checkversion;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Задача записи запрошенных версий библиотек проекта в файл для проверки конфликтов мажорных версий между проектами.
+ * <p>
+ * Файл публикуется потребляемой (consumable) конфигурацией проекта и подключается к задаче
+ * {@link CheckCrossProjectMajorVersionConflictsTask} корневого проекта, поэтому граф зависимостей каждого проекта
+ * разрешается только в самом проекте.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+@CacheableTask
+public class CollectRequestedVersionsTask extends DefaultTask {
+    private String projectPath;
+    private Provider<Map<String, List<String>>> requestedVersions;
+    private File outputFile;
+
+    /**
+     * Записывает запрошенные версии всех проверяемых конфигураций проекта
+     */
+    @TaskAction
+    public void collectRequestedVersions() {
+        Set<String> projectVersions = new TreeSet<>();
+        requestedVersions.get().values().forEach(projectVersions::addAll);
+        try {
+            new ProjectRequestedVersions(projectPath, new ArrayList<>(projectVersions)).write(outputFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write requested versions: file=" + outputFile, e);
+        }
+    }
+
+    /**
+     * Путь проекта, запрошенные версии которого записываются
+     */
+    @Input
+    public String getProjectPath() {
+        return projectPath;
+    }
+
+    public void setProjectPath(@Nonnull String projectPath) {
+        this.projectPath = requireNonNull(projectPath, "projectPath");
+    }
+
+    /**
+     * Запрошенные версии библиотек в формате group:name:version для каждой проверяемой конфигурации
+     */
+    @Input
+    public Provider<Map<String, List<String>>> getRequestedVersions() {
+        return requestedVersions;
+    }
+
+    public void setRequestedVersions(@Nonnull Provider<Map<String, List<String>>> requestedVersions) {
+        this.requestedVersions = requireNonNull(requestedVersions, "requestedVersions");
+    }
+
+    /**
+     * Файл с запрошенными версиями библиотек проекта
+     */
+    @OutputFile
+    public File getOutputFile() {
+        return outputFile;
+    }
+
+    public void setOutputFile(@Nonnull File outputFile) {
+        this.outputFile = requireNonNull(outputFile, "outputFile");
+    }
+}
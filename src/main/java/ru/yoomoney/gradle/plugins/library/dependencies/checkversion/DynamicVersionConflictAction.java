@@ -0,0 +1,61 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.checkversion;
+
+import org.gradle.api.Action;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.ResolvableDependencies;
+import org.gradle.api.artifacts.component.ComponentSelector;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Проверяет конфликты мажорных версий для библиотек, подключенных с версией '+' или 'latest.release'.
+ * <p>
+ * Выполняется после разрешения конфигурации: вместо запроса последней версии в репозиторий используется версия,
+ * выбранная gradle при разрешении, поэтому проверка не добавляет сетевых запросов в процесс разрешения зависимостей.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+class DynamicVersionConflictAction implements Action<ResolvableDependencies> {
+    private final FindAllVersionConflictAction findAllVersionConflictAction;
+    private final CheckVersionAction checkVersionAction;
+    private final NamePool namePool;
+
+    DynamicVersionConflictAction(FindAllVersionConflictAction findAllVersionConflictAction,
+                                 CheckVersionAction checkVersionAction,
+                                 NamePool namePool) {
+        this.findAllVersionConflictAction = findAllVersionConflictAction;
+        this.checkVersionAction = checkVersionAction;
+        this.namePool = namePool;
+    }
+
+    @Override
+    public void execute(ResolvableDependencies resolvableDependencies) {
+        Set<LibraryName> dynamicLibraries = new LinkedHashSet<>();
+        for (DependencyResult result : resolvableDependencies.getResolutionResult().getAllDependencies()) {
+            ComponentSelector requested = result.getRequested();
+            if (!(result instanceof ResolvedDependencyResult) || !(requested instanceof ModuleComponentSelector)) {
+                continue;
+            }
+            ModuleComponentSelector moduleSelector = (ModuleComponentSelector) requested;
+            if (!FindAllVersionConflictAction.isLatestVersionSelector(moduleSelector.getVersion())) {
+                continue;
+            }
+            ModuleVersionIdentifier selected = ((ResolvedDependencyResult) result).getSelected().getModuleVersion();
+            if (selected == null) {
+                continue;
+            }
+
+            LibraryName libraryName = namePool.library(moduleSelector.getGroup(), moduleSelector.getModule());
+            findAllVersionConflictAction.registerVersion(libraryName, selected.getVersion());
+            dynamicLibraries.add(libraryName);
+        }
+        dynamicLibraries.forEach(checkVersionAction::checkConflict);
+    }
+}
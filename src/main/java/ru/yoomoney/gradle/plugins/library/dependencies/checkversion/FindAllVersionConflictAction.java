@@ -1,15 +1,12 @@
 package ru.yoomoney.gradle.plugins.library.dependencies.checkversion;
 
 import org.gradle.api.Action;
-import org.gradle.api.GradleException;
 import org.gradle.api.artifacts.DependencyResolveDetails;
-import ru.yoomoney.gradle.plugins.library.dependencies.ArtifactVersionResolver;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.GroupIdPrefixMatcher;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.Version;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -20,67 +17,63 @@ import java.util.Set;
  */
 class FindAllVersionConflictAction implements Action<DependencyResolveDetails> {
     private final Set<LibraryName> excludedLibraries;
-    private final Set<String> includePrefixLibraries;
+    private final GroupIdPrefixMatcher includeGroupIdMatcher;
 
-    private final Map<LibraryName, String> majorModuleVersions = new HashMap<>();
-    private final Map<LibraryName, Set<String>> conflictModules;
-    private final ArtifactVersionResolver artifactVersionResolver;
+    private final MajorVersionConflicts conflicts;
+    private final NamePool namePool;
 
     FindAllVersionConflictAction(Set<LibraryName> excludedLibraries,
-                                 Set<String> includePrefixLibraries,
-                                 Map<LibraryName, Set<String>> conflictModules,
-                                 ArtifactVersionResolver artifactVersionResolver) {
+                                 GroupIdPrefixMatcher includeGroupIdMatcher,
+                                 MajorVersionConflicts conflicts,
+                                 NamePool namePool) {
         this.excludedLibraries = excludedLibraries;
-        this.conflictModules = conflictModules;
-        this.includePrefixLibraries = includePrefixLibraries;
-        this.artifactVersionResolver = artifactVersionResolver;
+        this.conflicts = conflicts;
+        this.includeGroupIdMatcher = includeGroupIdMatcher;
+        this.namePool = namePool;
     }
 
     @Override
     public void execute(DependencyResolveDetails dependency) {
         String requestedVersion = dependency.getRequested().getVersion();
-        if (requestedVersion == null) {
+        if (requestedVersion == null || isLatestVersionSelector(requestedVersion)) {
+            // Версия динамического селектора известна только после разрешения конфигурации,
+            // ее проверяет DynamicVersionConflictAction
             return;
         }
-        String groupDependency = dependency.getRequested().getGroup();
-        String nameDependency = dependency.getRequested().getName();
-
-        if ("+".equals(requestedVersion) || "latest.release".equals(requestedVersion)) {
-            requestedVersion = artifactVersionResolver.getArtifactLatestVersion(groupDependency, nameDependency)
-                    .orElseThrow(() -> new GradleException(String.format("Not found version: dependency=%s:%s", groupDependency,
-                            nameDependency)));
-        }
-
-        LibraryName libraryName = new LibraryName(groupDependency, nameDependency);
-        String savedVersion = majorModuleVersions.get(libraryName);
-        String majorRequestedVersion = getMajorVer(requestedVersion);
-
-        if (savedVersion == null) {
-            majorModuleVersions.put(libraryName, majorRequestedVersion);
-        } else {
-
-            if (isNeedCheck(libraryName) && !Objects.equals(majorRequestedVersion, savedVersion)) {
-
-                Set<String> versionSet = conflictModules.getOrDefault(libraryName, new HashSet<>());
-
-                versionSet.add(requestedVersion);
-                versionSet.add(savedVersion);
+        registerVersion(namePool.library(dependency.getRequested().getGroup(), dependency.getRequested().getName()),
+                requestedVersion);
+    }
 
-                conflictModules.put(libraryName, versionSet);
-            }
+    /**
+     * Запоминает запрошенную версию библиотеки и фиксирует конфликт, если мажорная версия отличается от запомненной ранее
+     *
+     * @param libraryName      имя библиотеки
+     * @param requestedVersion запрошенная версия
+     */
+    void registerVersion(LibraryName libraryName, String requestedVersion) {
+        if (isNeedCheck(libraryName)) {
+            conflicts.register(libraryName, requestedVersion, getMajorVer(requestedVersion));
         }
+    }
 
+    /**
+     * Проверяет, является ли версия селектором последней версии библиотеки
+     *
+     * @param version запрошенная версия
+     * @return true для '+' и 'latest.release'
+     */
+    static boolean isLatestVersionSelector(String version) {
+        return "+".equals(version) || "latest.release".equals(version);
     }
 
     private static String getMajorVer(String ver) {
-        return ver.split("\\.")[0];
+        return Version.parse(ver).getMajorPart();
     }
 
     private boolean isNeedCheck(LibraryName libraryName) {
         boolean isLibraryInExcluded = excludedLibraries.contains(libraryName);
 
         return !isLibraryInExcluded
-                && (includePrefixLibraries.isEmpty() ||
-                includePrefixLibraries.stream().anyMatch(prefix -> libraryName.getGroup().startsWith(prefix)));
+                && includeGroupIdMatcher.matches(libraryName.getGroup());
     }
 }
@@ -30,4 +30,11 @@ public class MajorVersionCheckerExtension {
      * Список библиотек, для которых не требуется выполнять проверку конфликта версий библиотек
      */
     public Set<String> excludeDependencies = new HashSet<>();
+
+    /**
+     * Выполнять проверку в отдельной задаче checkMajorVersionConflicts, подключенной к задаче check, вместо правил,
+     * выполняемых при каждом разрешении конфигураций. Задача проверяет результат разрешения конфигураций и кэшируется.
+     * Зависимости версий, вытесненных при разрешении конфликта, в результат не попадают и задачей не проверяются
+     */
+    public boolean checkInTask;
 }
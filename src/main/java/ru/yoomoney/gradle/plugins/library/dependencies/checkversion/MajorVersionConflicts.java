@@ -0,0 +1,76 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.checkversion;
+
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Найденные в конфигурации мажорные версии библиотек и конфликты между ними.
+ * <p>
+ * Потокобезопасен: gradle может разрешать конфигурации параллельно (--parallel), а правила разрешения зависимостей
+ * вызываются из разных потоков. Чтение выполняется без блокировок.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+final class MajorVersionConflicts {
+    /**
+     * Мажорная версия, с которой библиотека была запрошена впервые
+     */
+    private final ConcurrentMap<LibraryName, String> majorVersions = new ConcurrentHashMap<>();
+    /**
+     * Версии библиотек, мажорные версии которых различаются
+     */
+    private final ConcurrentMap<LibraryName, Set<String>> conflictVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Запоминает запрошенную версию библиотеки и фиксирует конфликт, если мажорная версия отличается от запомненной ранее
+     *
+     * @param libraryName      имя библиотеки
+     * @param requestedVersion запрошенная версия
+     * @param majorVersion     мажорная часть запрошенной версии
+     */
+    void register(@Nonnull LibraryName libraryName, @Nonnull String requestedVersion, @Nonnull String majorVersion) {
+        String savedMajorVersion = majorVersions.putIfAbsent(libraryName, majorVersion);
+        if (savedMajorVersion == null || Objects.equals(majorVersion, savedMajorVersion)) {
+            return;
+        }
+
+        Set<String> versions = conflictVersions.computeIfAbsent(libraryName, name -> ConcurrentHashMap.newKeySet());
+        versions.add(requestedVersion);
+        versions.add(savedMajorVersion);
+    }
+
+    /**
+     * Возвращает конфликтующие версии библиотеки
+     *
+     * @param libraryName имя библиотеки
+     * @return конфликтующие версии или null, если конфликта нет
+     */
+    @Nullable
+    Set<String> getConflictVersions(@Nonnull LibraryName libraryName) {
+        Set<String> versions = conflictVersions.get(libraryName);
+        return versions == null ? null : Collections.unmodifiableSet(versions);
+    }
+
+    /**
+     * Возвращает все найденные конфликты мажорных версий
+     *
+     * @return отображение имени библиотеки в конфликтующие версии, упорядоченное по имени библиотеки
+     */
+    Map<LibraryName, Set<String>> getConflicts() {
+        Map<LibraryName, Set<String>> conflicts = new TreeMap<>(
+                Comparator.comparing(LibraryName::getGroup).thenComparing(LibraryName::getName));
+        conflictVersions.forEach((libraryName, versions) -> conflicts.put(libraryName, Collections.unmodifiableSet(versions)));
+        return conflicts;
+    }
+}
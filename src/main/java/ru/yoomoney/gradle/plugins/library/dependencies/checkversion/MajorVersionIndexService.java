@@ -0,0 +1,46 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.checkversion;
+
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Общий для всех проектов сборки индекс запрошенных версий библиотек.
+ * <p>
+ * Хранит запрошенные версии библиотек для каждой конфигурации каждого проекта, так что граф зависимостей конфигурации
+ * обходится один раз за сборку, даже если его используют и проверка проекта, и проверка конфликтов между проектами.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public abstract class MajorVersionIndexService implements BuildService<BuildServiceParameters.None> {
+    private final ConcurrentMap<String, List<String>> requestedVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Возвращает запрошенные версии библиотек конфигурации, вычисляя их при первом обращении
+     *
+     * @param projectPath       путь проекта
+     * @param configurationName имя конфигурации
+     * @param loader            сбор запрошенных версий из результата разрешения конфигурации
+     * @return запрошенные версии в формате group:name:version
+     */
+    public List<String> getRequestedVersions(@Nonnull String projectPath, @Nonnull String configurationName,
+                                             @Nonnull Supplier<List<String>> loader) {
+        String key = projectPath + ":" + configurationName;
+        List<String> versions = requestedVersions.get(key);
+        if (versions != null) {
+            return versions;
+        }
+        // Загрузка выполняется вне блокировки: при одновременном обращении конфигурация может быть обойдена дважды,
+        // результат при этом одинаков
+        List<String> loadedVersions = Collections.unmodifiableList(loader.get());
+        versions = requestedVersions.putIfAbsent(key, loadedVersions);
+        return versions == null ? loadedVersions : versions;
+    }
+}
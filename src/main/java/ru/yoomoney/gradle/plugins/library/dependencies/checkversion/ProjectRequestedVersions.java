@@ -0,0 +1,78 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.checkversion;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Запрошенные версии библиотек всех проверяемых конфигураций проекта.
+ * Записываются в файл задачей {@link CollectRequestedVersionsTask} и читаются задачей
+ * {@link CheckCrossProjectMajorVersionConflictsTask}.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+final class ProjectRequestedVersions {
+    private static final String PROJECT_PREFIX = "project=";
+
+    @Nonnull
+    private final String projectPath;
+    @Nonnull
+    private final List<String> versions;
+
+    /**
+     * Конструктор класса
+     *
+     * @param projectPath путь проекта
+     * @param versions    запрошенные версии в формате group:name:version
+     */
+    ProjectRequestedVersions(@Nonnull String projectPath, @Nonnull List<String> versions) {
+        this.projectPath = requireNonNull(projectPath, "projectPath");
+        this.versions = Collections.unmodifiableList(new ArrayList<>(requireNonNull(versions, "versions")));
+    }
+
+    /**
+     * Читает запрошенные версии проекта из файла
+     *
+     * @param file файл запрошенных версий
+     * @return запрошенные версии проекта
+     */
+    static ProjectRequestedVersions read(@Nonnull File file) throws IOException {
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).startsWith(PROJECT_PREFIX)) {
+            throw new IOException("Project path is not found in requested versions file: file=" + file);
+        }
+        return new ProjectRequestedVersions(lines.get(0).substring(PROJECT_PREFIX.length()),
+                lines.subList(1, lines.size()));
+    }
+
+    /**
+     * Записывает запрошенные версии проекта в файл
+     *
+     * @param file файл запрошенных версий
+     */
+    void write(@Nonnull File file) throws IOException {
+        List<String> lines = new ArrayList<>(versions.size() + 1);
+        lines.add(PROJECT_PREFIX + projectPath);
+        lines.addAll(versions);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    @Nonnull
+    String getProjectPath() {
+        return projectPath;
+    }
+
+    @Nonnull
+    List<String> getVersions() {
+        return versions;
+    }
+}
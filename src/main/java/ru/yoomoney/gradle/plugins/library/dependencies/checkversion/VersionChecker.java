@@ -3,13 +3,26 @@ package ru.yoomoney.gradle.plugins.library.dependencies.checkversion;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.ConfigurationContainer;
-import ru.yoomoney.gradle.plugins.library.dependencies.ArtifactVersionResolver;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
+import org.gradle.api.artifacts.dsl.DependencyHandler;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.provider.Provider;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.GroupIdPrefixMatcher;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePoolService;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 
@@ -20,32 +33,178 @@ import java.util.stream.Collectors;
  * @since 07.12.2018
  */
 public class VersionChecker {
+    private static final String REQUESTED_VERSIONS_CONFIGURATION_NAME = "checkDependenciesRequestedVersions";
+    private static final String CROSS_PROJECT_REQUESTED_VERSIONS_CONFIGURATION_NAME =
+            "checkDependenciesCrossProjectRequestedVersions";
 
     /**
      * Запуск проверки
      *
      * @param project проект
+     * @param namePool пул имен библиотек
      */
     public static void runCheckVersion(Project project,
                                        MajorVersionCheckerExtension majorVersionCheckerExtension,
-                                       ArtifactVersionResolver artifactVersionResolver) {
+                                       NamePool namePool) {
         ConfigurationContainer allConfigurations = project.getConfigurations();
         Set<LibraryName> excludedLibraries = majorVersionCheckerExtension.excludeDependencies.stream()
-                .map(LibraryName::parse)
+                .map(namePool::parseLibrary)
                 .collect(Collectors.toSet());
+        GroupIdPrefixMatcher includeGroupIdMatcher = GroupIdPrefixMatcher.of(majorVersionCheckerExtension.includeGroupIdPrefixes);
 
         allConfigurations.stream()
                 .filter(VersionChecker::isValidConfiguration)
                 .forEach(conf -> {
-                    Map<LibraryName, Set<String>> conflictModules = new HashMap<>();
+                    MajorVersionConflicts conflicts = new MajorVersionConflicts();
+                    FindAllVersionConflictAction findAllVersionConflictAction = new FindAllVersionConflictAction(
+                            excludedLibraries, includeGroupIdMatcher, conflicts, namePool);
+                    CheckVersionAction checkVersionAction =
+                            new CheckVersionAction(project, conflicts, majorVersionCheckerExtension, namePool);
 
                     conf.getResolutionStrategy()
-                            .eachDependency(new FindAllVersionConflictAction(excludedLibraries,
-                                    majorVersionCheckerExtension.includeGroupIdPrefixes, conflictModules, artifactVersionResolver))
-                            .eachDependency(new CheckVersionAction(project, conflictModules, majorVersionCheckerExtension));
+                            .eachDependency(findAllVersionConflictAction)
+                            .eachDependency(checkVersionAction);
+                    conf.getIncoming().afterResolve(
+                            new DynamicVersionConflictAction(findAllVersionConflictAction, checkVersionAction, namePool));
                 });
     }
 
+    /**
+     * Создает задачу проверки конфликтов мажорных версий, которая проверяет результат разрешения конфигураций
+     * вместо правил, выполняемых при каждом разрешении
+     *
+     * @param project                      проект
+     * @param majorVersionCheckerExtension настройки проверки
+     * @param taskName                     имя задачи
+     * @param majorVersionIndex            общий для сборки индекс запрошенных версий
+     * @param namePoolService              общий для сборки пул имен библиотек
+     * @return задача проверки
+     */
+    public static CheckMajorVersionConflictsTask createCheckVersionTask(Project project,
+                                                                        MajorVersionCheckerExtension majorVersionCheckerExtension,
+                                                                        String taskName,
+                                                                        Provider<MajorVersionIndexService> majorVersionIndex,
+                                                                        Provider<NamePoolService> namePoolService) {
+        CheckMajorVersionConflictsTask task = project.getTasks().create(taskName, CheckMajorVersionConflictsTask.class);
+        task.setRequestedVersions(project.provider(() -> collectRequestedVersions(project, majorVersionIndex)));
+        task.usesService(majorVersionIndex);
+        task.setNamePoolService(namePoolService);
+        task.usesService(namePoolService);
+        task.setFailBuild(majorVersionCheckerExtension.failBuild);
+        task.setIncludeGroupIdPrefixes(new TreeSet<>(majorVersionCheckerExtension.includeGroupIdPrefixes));
+        task.setExcludeDependencies(new TreeSet<>(majorVersionCheckerExtension.excludeDependencies));
+        task.setReportFile(new File(project.getBuildDir(), "report/dependencies/major_version_conflicts.txt"));
+        return task;
+    }
+
+    /**
+     * Создает в корневом проекте задачу поиска конфликтов мажорных версий между проектами сборки, если она еще не создана.
+     * Запрошенные версии проектов подключаются к задаче методом {@link #createCollectRequestedVersionsTask},
+     * настройки проверки задаются свойствами самой задачи
+     *
+     * @param project         проект
+     * @param taskName        имя задачи
+     * @param namePoolService общий для сборки пул имен библиотек
+     * @return задача проверки
+     */
+    public static CheckCrossProjectMajorVersionConflictsTask registerCrossProjectCheckTask(
+            Project project,
+            String taskName,
+            Provider<NamePoolService> namePoolService) {
+        Project rootProject = project.getRootProject();
+        CheckCrossProjectMajorVersionConflictsTask task =
+                (CheckCrossProjectMajorVersionConflictsTask) rootProject.getTasks().findByName(taskName);
+        if (task != null) {
+            return task;
+        }
+        Configuration requestedVersionsFiles = rootProject.getConfigurations()
+                .create(CROSS_PROJECT_REQUESTED_VERSIONS_CONFIGURATION_NAME);
+        requestedVersionsFiles.setCanBeConsumed(false);
+        requestedVersionsFiles.setCanBeResolved(true);
+        requestedVersionsFiles.setVisible(false);
+
+        task = rootProject.getTasks().create(taskName, CheckCrossProjectMajorVersionConflictsTask.class);
+        task.setRequestedVersionsFiles(requestedVersionsFiles);
+        task.setReportFile(new File(rootProject.getBuildDir(), "report/dependencies/cross_project_major_version_conflicts.txt"));
+        task.setNamePoolService(namePoolService);
+        task.usesService(namePoolService);
+        return task;
+    }
+
+    /**
+     * Создает задачу записи запрошенных версий библиотек проекта в файл и подключает файл к задаче поиска конфликтов
+     * мажорных версий между проектами через потребляемую конфигурацию проекта
+     *
+     * @param project           проект
+     * @param taskName          имя задачи
+     * @param majorVersionIndex общий для сборки индекс запрошенных версий
+     * @return задача записи запрошенных версий
+     */
+    public static CollectRequestedVersionsTask createCollectRequestedVersionsTask(
+            Project project,
+            String taskName,
+            Provider<MajorVersionIndexService> majorVersionIndex) {
+        CollectRequestedVersionsTask task = project.getTasks().create(taskName, CollectRequestedVersionsTask.class);
+        task.setProjectPath(project.getPath());
+        task.setRequestedVersions(project.provider(() -> collectRequestedVersions(project, majorVersionIndex)));
+        task.setOutputFile(new File(project.getBuildDir(), "check-dependencies/requested-versions.txt"));
+        task.usesService(majorVersionIndex);
+
+        Configuration requestedVersions = project.getConfigurations().create(REQUESTED_VERSIONS_CONFIGURATION_NAME);
+        requestedVersions.setCanBeConsumed(true);
+        requestedVersions.setCanBeResolved(false);
+        requestedVersions.setVisible(false);
+        project.getArtifacts().add(REQUESTED_VERSIONS_CONFIGURATION_NAME, task.getOutputFile(),
+                artifact -> artifact.builtBy(task));
+
+        Map<String, String> projectDependency = new HashMap<>();
+        projectDependency.put("path", project.getPath());
+        projectDependency.put("configuration", REQUESTED_VERSIONS_CONFIGURATION_NAME);
+        DependencyHandler rootDependencies = project.getRootProject().getDependencies();
+        rootDependencies.add(CROSS_PROJECT_REQUESTED_VERSIONS_CONFIGURATION_NAME, rootDependencies.project(projectDependency));
+        return task;
+    }
+
+    /**
+     * Собирает запрошенные версии библиотек из результата разрешения проверяемых конфигураций.
+     * Для динамических версий '+' и 'latest.release' используется версия, выбранная gradle.
+     * Зависимости версий, вытесненных при разрешении конфликта, в результате разрешения отсутствуют и не собираются.
+     * Каждая конфигурация обходится один раз за сборку
+     */
+    private static Map<String, List<String>> collectRequestedVersions(Project project,
+                                                                      Provider<MajorVersionIndexService> majorVersionIndex) {
+        Map<String, List<String>> requestedVersions = new TreeMap<>();
+        project.getConfigurations().stream()
+                .filter(Configuration::isCanBeResolved)
+                .filter(VersionChecker::isValidConfiguration)
+                .forEach(configuration -> requestedVersions.put(configuration.getName(),
+                        majorVersionIndex.get().getRequestedVersions(project.getPath(), configuration.getName(),
+                                () -> collectRequestedVersions(configuration))));
+        return requestedVersions;
+    }
+
+    private static List<String> collectRequestedVersions(Configuration configuration) {
+        List<String> requestedVersions = new ArrayList<>();
+        for (DependencyResult result : configuration.getIncoming().getResolutionResult().getAllDependencies()) {
+            if (!(result.getRequested() instanceof ModuleComponentSelector)) {
+                continue;
+            }
+            ModuleComponentSelector requested = (ModuleComponentSelector) result.getRequested();
+            String version = requested.getVersion();
+            if (FindAllVersionConflictAction.isLatestVersionSelector(version)) {
+                if (!(result instanceof ResolvedDependencyResult)) {
+                    continue;
+                }
+                ModuleVersionIdentifier selected = ((ResolvedDependencyResult) result).getSelected().getModuleVersion();
+                version = selected == null ? null : selected.getVersion();
+            }
+            if (version != null && !version.isEmpty()) {
+                requestedVersions.add(requested.getGroup() + ":" + requested.getModule() + ":" + version);
+            }
+        }
+        return requestedVersions;
+    }
+
     private static boolean isValidConfiguration(Configuration configuration) {
         String configurationLowerName = configuration.getName().toLowerCase();
 
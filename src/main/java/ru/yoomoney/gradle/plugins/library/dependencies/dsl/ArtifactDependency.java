@@ -9,12 +9,10 @@ package ru.yoomoney.gradle.plugins.library.dependencies.dsl;
  *     <li>разрешенным именем библиотеки и версией артефакта</li>
  * </ul>
  *
- * <p>Реализуется в следующих классах:</p>
+ * <p>Для неразрешенной зависимости выбранные имя библиотеки и версия совпадают с запрошенными.</p>
  *
- * <ul>
- *     <li>{@link ResolvedArtifactDependency}</li>
- *     <li>{@link UnresolvedArtifactDependency}</li>
- * </ul>
+ * <p>Реализуется узлами снимка графа зависимостей
+ * {@link ru.yoomoney.gradle.plugins.library.dependencies.analysis.DependencyGraph}</p>
  *
  * @author Konstantin Novokreshchenov
  * @since 14.03.2017
@@ -11,6 +11,7 @@ import java.util.Objects;
 public final class ArtifactName {
     private final LibraryName libraryName;
     private final String version;
+    private final int hash;
 
     /**
      * Парсит имя артефакта, заданное в формате group:name:version, из переданной строки
@@ -61,6 +62,7 @@ public final class ArtifactName {
     public ArtifactName(LibraryName libraryName, String version) {
         this.libraryName = libraryName;
         this.version = version;
+        this.hash = 7 * libraryName.hashCode() + Objects.hashCode(version);
     }
 
     /**
@@ -83,17 +85,21 @@ public final class ArtifactName {
 
     @Override
     public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
         if (!(object instanceof ArtifactName)) {
             return false;
         }
 
         ArtifactName other = (ArtifactName)object;
 
-        return Objects.equals(libraryName, other.libraryName) && Objects.equals(version, other.version);
+        return hash == other.hash && Objects.equals(libraryName, other.libraryName)
+                && Objects.equals(version, other.version);
     }
 
     @Override
     public int hashCode() {
-        return 7 * libraryName.hashCode() + version.hashCode();
+        return hash;
     }
 }
@@ -1,8 +1,10 @@
 package ru.yoomoney.gradle.plugins.library.dependencies.dsl;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -17,6 +19,10 @@ import static java.util.Objects.requireNonNull;
  */
 public class ArtifactNameSet implements Iterable<ArtifactName> {
     private final Map<LibraryName, Set<String>> libraryVersions;
+    /**
+     * Имена артефактов, создаются один раз при первом обходе набора
+     */
+    private volatile List<ArtifactName> artifactNames;
 
     /**
      * Создает набор имен артефактов на основании переданного отображения из имени библиотеки в набор версий
@@ -57,11 +63,17 @@ public class ArtifactNameSet implements Iterable<ArtifactName> {
 
     @Override
     public Iterator<ArtifactName> iterator() {
-        return libraryVersions.entrySet()
-                .stream()
-                .flatMap(entry -> entry.getValue()
-                        .stream()
-                        .map(version -> new ArtifactName(entry.getKey(), version)))
-                .iterator();
+        List<ArtifactName> names = artifactNames;
+        if (names == null) {
+            names = new ArrayList<>();
+            for (Map.Entry<LibraryName, Set<String>> entry : libraryVersions.entrySet()) {
+                for (String version : entry.getValue()) {
+                    names.add(new ArtifactName(entry.getKey(), version));
+                }
+            }
+            names = Collections.unmodifiableList(names);
+            artifactNames = names;
+        }
+        return names.iterator();
     }
 }
@@ -38,8 +38,8 @@ public class ArtifactWithVersionRange {
                     libraryName));
         }
         this.libraryName = libraryName;
-        this.startVersion = startVersion;
-        this.endVersion = endVersion;
+        this.startVersion = checkRangeVersion(libraryName, startVersion);
+        this.endVersion = checkRangeVersion(libraryName, endVersion);
     }
 
     /**
@@ -50,17 +50,23 @@ public class ArtifactWithVersionRange {
      */
     public ArtifactWithVersionRange(LibraryName libraryName, @Nonnull String version) {
         this.libraryName = libraryName;
-        this.startVersion = version;
+        this.startVersion = checkRangeVersion(libraryName, version);
         this.endVersion = version;
     }
 
     /**
      * Определяет, входит ли переденная версия в диапозон версий артефакта
      *
+     * Версия без числовых сегментов (например, "r09" или "latest.release") не может быть сравнена с границами
+     * диапазона и не входит в него.
+     *
      * @param version версия, вхождение которой необходимо проверить
      * @return true, если версия входит в диапазон
      */
     public boolean isVersionIncludedInRange(String version) {
+        if (!Version.parse(version).hasNumericSegments()) {
+            return false;
+        }
         if (startVersion == null) {
             return compareVersions(endVersion, version) >= 0;
         }
@@ -75,18 +81,16 @@ public class ArtifactWithVersionRange {
         return libraryName;
     }
 
-    private int compareVersions(String version1, String version2) {
-        String[] versionAsArray1 = version1.split("\\.");
-        String[] versionAsArray2 = version2.split("\\.");
-
-        for (int i = 0; i < Math.min(versionAsArray1.length, versionAsArray2.length); i++) {
-            Integer num1 = Integer.valueOf(versionAsArray1[i]);
-            Integer num2 = Integer.valueOf(versionAsArray2[i]);
-
-            if (!num1.equals(num2)) {
-                return num1.compareTo(num2);
-            }
+    @Nullable
+    private static String checkRangeVersion(LibraryName libraryName, @Nullable String version) {
+        if (version != null && !Version.parse(version).hasNumericSegments()) {
+            throw new RuntimeException(String.format("Range version must start with a number: library=%s, version=%s",
+                    libraryName, version));
         }
-        return 0;
+        return version;
+    }
+
+    private int compareVersions(String version1, String version2) {
+        return Version.parse(version1).compareCommonSegments(Version.parse(version2));
     }
 }
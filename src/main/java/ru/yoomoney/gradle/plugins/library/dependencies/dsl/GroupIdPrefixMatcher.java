@@ -0,0 +1,118 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.dsl;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Проверяет, начинается ли идентификатор группы библиотеки с одного из заданных префиксов.
+ * <p>
+ * Префиксы один раз собираются в префиксное дерево по символам, поэтому проверка идентификатора группы выполняется
+ * за время, пропорциональное длине идентификатора, независимо от числа префиксов, и не выделяет память.
+ * Результат совпадает с проверкой String.startsWith для каждого префикса. Пустой список префиксов подходит
+ * для любой группы.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class GroupIdPrefixMatcher {
+    @Nonnull
+    private final Node root;
+    private final boolean matchAll;
+
+    private GroupIdPrefixMatcher(@Nonnull Node root, boolean matchAll) {
+        this.root = root;
+        this.matchAll = matchAll;
+    }
+
+    /**
+     * Создает проверку по списку префиксов
+     *
+     * @param prefixes префиксы идентификаторов групп
+     * @return проверка идентификаторов групп
+     */
+    public static GroupIdPrefixMatcher of(@Nonnull Collection<String> prefixes) {
+        requireNonNull(prefixes, "prefixes");
+        Node root = new Node();
+        prefixes.forEach(root::add);
+        return new GroupIdPrefixMatcher(root, prefixes.isEmpty());
+    }
+
+    /**
+     * Проверяет, подходит ли идентификатор группы под один из префиксов
+     *
+     * @param group идентификатор группы
+     * @return true, если список префиксов пуст или группа начинается с одного из префиксов
+     */
+    public boolean matches(@Nullable String group) {
+        if (matchAll) {
+            return true;
+        }
+        if (group == null) {
+            return false;
+        }
+
+        Node node = root;
+        for (int i = 0; i < group.length(); i++) {
+            if (node.terminal) {
+                return true;
+            }
+            node = node.child(group.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    /**
+     * Узел префиксного дерева. Дочерние узлы хранятся в массиве, отсортированном по символу
+     */
+    private static final class Node {
+        private static final char[] NO_SYMBOLS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] symbols = NO_SYMBOLS;
+        private Node[] children = NO_CHILDREN;
+        private boolean terminal;
+
+        private void add(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.getOrCreateChild(prefix.charAt(i));
+            }
+            node.terminal = true;
+        }
+
+        @Nullable
+        private Node child(char symbol) {
+            int index = Arrays.binarySearch(symbols, symbol);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node getOrCreateChild(char symbol) {
+            int index = Arrays.binarySearch(symbols, symbol);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertionPoint = -index - 1;
+            char[] newSymbols = new char[symbols.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(symbols, 0, newSymbols, 0, insertionPoint);
+            System.arraycopy(children, 0, newChildren, 0, insertionPoint);
+            System.arraycopy(symbols, insertionPoint, newSymbols, insertionPoint + 1, symbols.length - insertionPoint);
+            System.arraycopy(children, insertionPoint, newChildren, insertionPoint + 1, children.length - insertionPoint);
+
+            Node child = new Node();
+            newSymbols[insertionPoint] = symbol;
+            newChildren[insertionPoint] = child;
+            symbols = newSymbols;
+            children = newChildren;
+            return child;
+        }
+    }
+}
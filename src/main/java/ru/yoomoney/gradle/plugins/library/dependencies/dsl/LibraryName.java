@@ -1,8 +1,6 @@
 package ru.yoomoney.gradle.plugins.library.dependencies.dsl;
 
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Полное имя библиотеки. Состоит из идентификатора группы и имени библиотеки
@@ -11,10 +9,9 @@ import java.util.regex.Pattern;
  * @since 13.03.2017
  */
 public final class LibraryName {
-    private static final Pattern LIBRARY_NAME_PATTERN = Pattern.compile("(?<group>.+):(?<name>.+)");
-
     private final String group;
     private final String name;
+    private final int hash;
 
     /**
      * Преобразует переданную строку в объект, представляющий полное имя библиотеки
@@ -22,16 +19,17 @@ public final class LibraryName {
      * @param libraryName строка, содержащая полное имя библиотеки в формате 'идентификатор группы':'имя библиотеки'
      */
     public static LibraryName parse(String libraryName) {
-        Matcher matcher = LIBRARY_NAME_PATTERN.matcher(libraryName);
-        if (!matcher.matches()) {
+        int separatorIndex = libraryName.lastIndexOf(':');
+        if (separatorIndex <= 0 || separatorIndex == libraryName.length() - 1) {
             throw new IllegalArgumentException("Passed library name has incorrect format: expected '<group>:<name>'");
         }
-        return new LibraryName(matcher.group("group"), matcher.group("name"));
+        return new LibraryName(libraryName.substring(0, separatorIndex), libraryName.substring(separatorIndex + 1));
     }
 
     public LibraryName(String group, String name) {
         this.group = group;
         this.name = name;
+        this.hash = 7 * Objects.hashCode(group) + Objects.hashCode(name);
     }
 
     /**
@@ -54,18 +52,21 @@ public final class LibraryName {
 
     @Override
     public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
         if (!(object instanceof LibraryName)) {
             return false;
         }
 
         LibraryName other = (LibraryName) object;
 
-        return Objects.equals(group, other.group) && Objects.equals(name, other.name);
+        return hash == other.hash && Objects.equals(group, other.group) && Objects.equals(name, other.name);
     }
 
     @Override
     public int hashCode() {
-        return 7 * group.hashCode() + name.hashCode();
+        return hash;
     }
 
     @Override
@@ -0,0 +1,100 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.dsl;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Пул канонических экземпляров имен библиотек и артефактов.
+ * <p>
+ * Для одинаковых имен возвращает один и тот же экземпляр, так что повторные обращения не создают новых объектов,
+ * а сравнение канонических имен сводится к сравнению ссылок. Поиск в пуле выполняется по исходным строкам
+ * без создания промежуточных объектов. Пул потокобезопасен.
+ * <p>
+ * Имена с отсутствующими частями (например, группа файловой зависимости) не кэшируются.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class NamePool {
+    private final ConcurrentMap<String, ConcurrentMap<String, LibraryName>> libraries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<LibraryName, ConcurrentMap<String, ArtifactName>> artifacts = new ConcurrentHashMap<>();
+
+    /**
+     * Возвращает канонический экземпляр имени библиотеки
+     *
+     * @param group идентификатор группы
+     * @param name  имя библиотеки
+     * @return имя библиотеки
+     */
+    public LibraryName library(String group, String name) {
+        if (group == null || name == null) {
+            return new LibraryName(group, name);
+        }
+        ConcurrentMap<String, LibraryName> groupLibraries = libraries.get(group);
+        if (groupLibraries == null) {
+            groupLibraries = libraries.computeIfAbsent(group, key -> new ConcurrentHashMap<>());
+        }
+        LibraryName libraryName = groupLibraries.get(name);
+        if (libraryName == null) {
+            libraryName = groupLibraries.computeIfAbsent(name, key -> new LibraryName(group, name));
+        }
+        return libraryName;
+    }
+
+    /**
+     * Возвращает канонический экземпляр имени библиотеки
+     *
+     * @param libraryName имя библиотеки
+     * @return имя библиотеки
+     */
+    public LibraryName library(@Nonnull LibraryName libraryName) {
+        return library(libraryName.getGroup(), libraryName.getName());
+    }
+
+    /**
+     * Разбирает имя библиотеки в формате group:name и возвращает его канонический экземпляр
+     *
+     * @param libraryName строка, содержащая полное имя библиотеки
+     * @return имя библиотеки
+     */
+    public LibraryName parseLibrary(@Nonnull String libraryName) {
+        return library(LibraryName.parse(libraryName));
+    }
+
+    /**
+     * Возвращает канонический экземпляр имени артефакта
+     *
+     * @param group   идентификатор группы
+     * @param name    имя библиотеки
+     * @param version версия библиотеки
+     * @return имя артефакта
+     */
+    public ArtifactName artifact(String group, String name, String version) {
+        return artifact(library(group, name), version);
+    }
+
+    /**
+     * Возвращает канонический экземпляр имени артефакта
+     *
+     * @param libraryName имя библиотеки
+     * @param version     версия библиотеки
+     * @return имя артефакта
+     */
+    public ArtifactName artifact(@Nonnull LibraryName libraryName, String version) {
+        LibraryName canonicalLibraryName = library(libraryName);
+        if (version == null || canonicalLibraryName.getGroup() == null || canonicalLibraryName.getName() == null) {
+            return new ArtifactName(canonicalLibraryName, version);
+        }
+        ConcurrentMap<String, ArtifactName> libraryArtifacts = artifacts.get(canonicalLibraryName);
+        if (libraryArtifacts == null) {
+            libraryArtifacts = artifacts.computeIfAbsent(canonicalLibraryName, key -> new ConcurrentHashMap<>());
+        }
+        ArtifactName artifactName = libraryArtifacts.get(version);
+        if (artifactName == null) {
+            artifactName = libraryArtifacts.computeIfAbsent(version,
+                    key -> new ArtifactName(canonicalLibraryName, version));
+        }
+        return artifactName;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.dsl;
+
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Общий для всех проектов сборки пул имен библиотек и артефактов.
+ * Живет до окончания сборки, так что канонические имена не накапливаются в демоне gradle между сборками
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public abstract class NamePoolService implements BuildService<BuildServiceParameters.None> {
+    private final NamePool namePool = new NamePool();
+
+    /**
+     * Возвращает пул имен
+     *
+     * @return пул имен
+     */
+    public NamePool getNamePool() {
+        return namePool;
+    }
+}
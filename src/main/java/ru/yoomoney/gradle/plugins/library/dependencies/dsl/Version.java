@@ -0,0 +1,250 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.dsl;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Версия библиотеки.
+ * <p>
+ * Версия разбирается по схеме major[.minor[.micro[.patch]]][(.|-|_)qualifier] один раз и кэшируется по исходной строке,
+ * числовые сегменты хранятся в примитивных полях, поэтому сравнение версий не выделяет память.
+ * Кэш ограничен {@link #MAX_CACHED_VERSIONS} версиями, после его заполнения версии разбираются заново при каждом обращении.
+ * <p>
+ * Сегменты сравниваются как числа, версия без квалификатора старше версии с квалификатором,
+ * квалификаторы сравниваются без учета регистра.
+ * Строка, не соответствующая схеме (например, "r09", "1.0a", "+" или "latest.release"), не содержит числовых сегментов,
+ * см. {@link #hasNumericSegments()}, и при сравнении считается версией 0.0.0.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class Version implements Comparable<Version> {
+    private static final int MAX_NUMERIC_SEGMENTS = 4;
+    /**
+     * Максимальное число версий в кэше разобранных версий
+     */
+    static final int MAX_CACHED_VERSIONS = 10_000;
+
+    private static final ConcurrentMap<String, Version> VERSIONS = new ConcurrentHashMap<>();
+
+    @Nonnull
+    private final String value;
+    /**
+     * Числовые сегменты: major, minor, micro, patch
+     */
+    private final int major;
+    private final int minor;
+    private final int micro;
+    private final int patch;
+    /**
+     * Количество числовых сегментов, явно указанных в версии
+     */
+    private final int numericSegmentCount;
+    @Nullable
+    private final String qualifier;
+    /**
+     * Часть версии до первой точки
+     */
+    @Nonnull
+    private final String majorPart;
+
+    private Version(@Nonnull String value, int[] segments, int numericSegmentCount, @Nullable String qualifier) {
+        this.value = value;
+        this.major = segments[0];
+        this.minor = segments[1];
+        this.micro = segments[2];
+        this.patch = segments[3];
+        this.numericSegmentCount = numericSegmentCount;
+        this.qualifier = qualifier;
+        int dotIndex = value.indexOf('.');
+        this.majorPart = dotIndex < 0 ? value : value.substring(0, dotIndex);
+    }
+
+    /**
+     * Возвращает разобранную версию
+     *
+     * @param version строковое представление версии
+     * @return версия
+     */
+    public static Version parse(@Nonnull String version) {
+        requireNonNull(version, "version");
+        Version parsed = VERSIONS.get(version);
+        if (parsed != null) {
+            return parsed;
+        }
+        if (VERSIONS.size() >= MAX_CACHED_VERSIONS) {
+            return doParse(version);
+        }
+        return VERSIONS.computeIfAbsent(version, Version::doParse);
+    }
+
+    private static Version doParse(String version) {
+        int[] segments = new int[MAX_NUMERIC_SEGMENTS];
+        int length = version.length();
+        if (length == 0 || !isDigit(version.charAt(0))) {
+            return new Version(version, segments, 0, null);
+        }
+
+        int position = 0;
+        int segmentCount = 0;
+        while (segmentCount < MAX_NUMERIC_SEGMENTS) {
+            int segment = 0;
+            while (position < length && isDigit(version.charAt(position))) {
+                int digit = version.charAt(position) - '0';
+                segment = segment > (Integer.MAX_VALUE - digit) / 10 ? Integer.MAX_VALUE : segment * 10 + digit;
+                position++;
+            }
+            segments[segmentCount++] = segment;
+
+            boolean nextIsNumericSegment = position + 1 < length
+                    && version.charAt(position) == '.'
+                    && isDigit(version.charAt(position + 1));
+            if (!nextIsNumericSegment || segmentCount == MAX_NUMERIC_SEGMENTS) {
+                break;
+            }
+            position++;
+        }
+
+        if (position == length) {
+            return new Version(version, segments, segmentCount, null);
+        }
+        if (position + 1 < length && isSeparator(version.charAt(position))) {
+            return new Version(version, segments, segmentCount, version.substring(position + 1));
+        }
+        return new Version(version, new int[MAX_NUMERIC_SEGMENTS], 0, null);
+    }
+
+    private static boolean isDigit(char symbol) {
+        return symbol >= '0' && symbol <= '9';
+    }
+
+    private static boolean isSeparator(char symbol) {
+        return symbol == '.' || symbol == '-' || symbol == '_';
+    }
+
+    /**
+     * Проверяет, что версия соответствует схеме и содержит хотя бы один числовой сегмент
+     *
+     * @return true, если версия содержит числовые сегменты
+     */
+    public boolean hasNumericSegments() {
+        return numericSegmentCount > 0;
+    }
+
+    /**
+     * Сравнивает версии только по числовым сегментам, явно указанным в обеих версиях.
+     * Например, версия 1.2 совпадает с версиями 1.2.0 и 1.2.5
+     *
+     * @param other версия для сравнения
+     * @return отрицательное число, ноль или положительное число, если версия младше, совпадает или старше переданной
+     */
+    public int compareCommonSegments(@Nonnull Version other) {
+        int commonSegmentCount = Math.min(numericSegmentCount, other.numericSegmentCount);
+        for (int i = 0; i < commonSegmentCount; i++) {
+            int result = Integer.compare(getSegment(i), other.getSegment(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public int compareTo(@Nonnull Version other) {
+        if (this == other) {
+            return 0;
+        }
+        int result = Integer.compare(major, other.major);
+        if (result != 0) {
+            return result;
+        }
+        result = Integer.compare(minor, other.minor);
+        if (result != 0) {
+            return result;
+        }
+        result = Integer.compare(micro, other.micro);
+        if (result != 0) {
+            return result;
+        }
+        result = Integer.compare(patch, other.patch);
+        if (result != 0) {
+            return result;
+        }
+        if (qualifier == null) {
+            return other.qualifier == null ? 0 : 1;
+        }
+        if (other.qualifier == null) {
+            return -1;
+        }
+        return String.CASE_INSENSITIVE_ORDER.compare(qualifier, other.qualifier);
+    }
+
+    private int getSegment(int index) {
+        switch (index) {
+            case 0:
+                return major;
+            case 1:
+                return minor;
+            case 2:
+                return micro;
+            default:
+                return patch;
+        }
+    }
+
+    /**
+     * Возвращает часть версии до первой точки, используемую для определения мажорной версии
+     *
+     * @return часть версии до первой точки
+     */
+    @Nonnull
+    public String getMajorPart() {
+        return majorPart;
+    }
+
+    public int getMajor() {
+        return major;
+    }
+
+    public int getMinor() {
+        return minor;
+    }
+
+    public int getMicro() {
+        return micro;
+    }
+
+    public int getPatch() {
+        return patch;
+    }
+
+    @Nullable
+    public String getQualifier() {
+        return qualifier;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Version)) {
+            return false;
+        }
+        return value.equals(((Version) object).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
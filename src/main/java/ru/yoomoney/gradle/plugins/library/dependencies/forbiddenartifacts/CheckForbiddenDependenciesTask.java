@@ -2,38 +2,61 @@ package ru.yoomoney.gradle.plugins.library.dependencies.forbiddenartifacts;
 
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
-import org.gradle.api.artifacts.Dependency;
-import org.gradle.api.logging.Logger;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactName;
 import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ForbiddenArtifactInfo;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePoolService;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
- * Задача, проверяющая наличие запрещенных артефактов
+ * Задача, проверяющая наличие запрещенных артефактов.
+ * Объявленные в проекте зависимости собираются провайдером, поэтому при выполнении задача не обращается к проекту.
  *
  * @author horyukova
  * @since 26.05.2019
  */
 public class CheckForbiddenDependenciesTask extends DefaultTask {
     private Set<ForbiddenArtifactInfo> forbiddenArtifacts;
-    private Logger log = getProject().getLogger();
+    private Provider<NamePoolService> namePoolService;
+    /**
+     * Различные зависимости всех конфигураций проекта в виде списков [group, name, version]
+     */
+    private final Provider<Set<List<String>>> declaredDependencies;
+
+    public CheckForbiddenDependenciesTask() {
+        Project project = getProject();
+        declaredDependencies = project.provider(() -> collectDeclaredDependencies(project));
+    }
 
     public void setForbiddenArtifacts(Set<ForbiddenArtifactInfo> forbiddenArtifacts) {
         this.forbiddenArtifacts = forbiddenArtifacts;
     }
 
+    @Internal
+    public Provider<NamePoolService> getNamePoolService() {
+        return namePoolService;
+    }
+
+    public void setNamePoolService(Provider<NamePoolService> namePoolService) {
+        this.namePoolService = namePoolService;
+    }
+
     /**
      * Проверяем наличие запрещенных артефактов
      */
     @TaskAction
     public void forbiddenArtifacts() {
-        Set<Dependency> foundForbiddenArtifacts = getProject().getConfigurations().stream()
-                .flatMap(configuration -> configuration.getAllDependencies().stream())
+        Set<ArtifactName> foundForbiddenArtifacts = declaredDependencies.get().stream()
+                .map(this::toArtifactName)
                 .filter(this::isForbiddenArtifacts)
-                .collect(Collectors.toSet()).stream()
                 .peek(this::printForbiddenVersion)
                 .peek(this::printRecommendedVersion)
                 .collect(Collectors.toSet());
@@ -43,10 +66,7 @@ public class CheckForbiddenDependenciesTask extends DefaultTask {
         }
     }
 
-    private boolean isForbiddenArtifacts(Dependency dependency) {
-        ArtifactName artifactName =
-                new ArtifactName(dependency.getGroup(), dependency.getName(), dependency.getVersion());
-
+    private boolean isForbiddenArtifacts(ArtifactName artifactName) {
         return forbiddenArtifacts.stream()
                 .filter(forbiddenArtifact -> forbiddenArtifact.getForbiddenArtifact().getLibraryName()
                         .equals(artifactName.getLibraryName()))
@@ -54,25 +74,30 @@ public class CheckForbiddenDependenciesTask extends DefaultTask {
                         forbiddenArtifact.getForbiddenArtifact().isVersionIncludedInRange(artifactName.getVersion()));
     }
 
-    private void printForbiddenVersion(Dependency dependency) {
-        ArtifactName artifactName =
-                new ArtifactName(dependency.getGroup(), dependency.getName(), dependency.getVersion());
-
+    private void printForbiddenVersion(ArtifactName artifactName) {
         forbiddenArtifacts.stream()
                 .filter(artifact -> artifact.getForbiddenArtifact().getLibraryName()
                         .equals(artifactName.getLibraryName()))
-                .forEach(artifact -> log.lifecycle("Forbidden dependency: {}:{}, cause: {}",
+                .forEach(artifact -> getLogger().lifecycle("Forbidden dependency: {}:{}, cause: {}",
                         artifactName.getLibraryName(), artifactName.getVersion(), artifact.getComment()));
     }
 
-    private void printRecommendedVersion(Dependency dependency) {
-        ArtifactName artifactName =
-                new ArtifactName(dependency.getGroup(), dependency.getName(), dependency.getVersion());
-
+    private void printRecommendedVersion(ArtifactName artifactName) {
         forbiddenArtifacts.stream()
                 .map(ForbiddenArtifactInfo::getRecommendedArtifact)
                 .filter(artifact -> artifact.getLibraryName().equals(artifactName.getLibraryName()))
-                .forEach(recommendedArtifact -> log.lifecycle("Recommended version: {} {} -> {}",
+                .forEach(recommendedArtifact -> getLogger().lifecycle("Recommended version: {} {} -> {}",
                         artifactName.getLibraryName(), artifactName.getVersion(), recommendedArtifact.getVersion()));
     }
+
+    private ArtifactName toArtifactName(List<String> dependency) {
+        return namePoolService.get().getNamePool().artifact(dependency.get(0), dependency.get(1), dependency.get(2));
+    }
+
+    private static Set<List<String>> collectDeclaredDependencies(Project project) {
+        return project.getConfigurations().stream()
+                .flatMap(configuration -> configuration.getAllDependencies().stream())
+                .map(dependency -> Arrays.asList(dependency.getGroup(), dependency.getName(), dependency.getVersion()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
 }
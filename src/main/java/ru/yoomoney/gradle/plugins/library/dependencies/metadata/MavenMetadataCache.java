@@ -0,0 +1,280 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.metadata;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Дисковый кэш maven-metadata.xml.
+ * <p>
+ * Для каждой пары (url репозитория, артефакт) хранит один файл записи: время последней проверки в репозитории,
+ * ETag и Last-Modified ответа, а за ними исходное содержимое maven-metadata.xml. Запись заменяется целиком атомарным
+ * переименованием, поэтому параллельная сборка не может увидеть новое содержимое со старым описанием.
+ * Отсутствие метаданных в репозитории (404) также кэшируется, чтобы не запрашивать заведомо отсутствующий артефакт повторно.
+ * <p>
+ * Директория репозитория определяется хэшем его url, к которому для наглядности добавлено начало url.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MavenMetadataCache {
+    private static final Logger log = LoggerFactory.getLogger(MavenMetadataCache.class);
+
+    private static final String ENTRY_FILE_NAME = "maven-metadata.entry";
+    private static final int ENTRY_FORMAT_VERSION = 1;
+    private static final int REPO_DIR_PREFIX_LENGTH = 40;
+
+    @Nonnull
+    private final File cacheDir;
+    @Nonnull
+    private final Duration ttl;
+    @Nonnull
+    private final Duration notFoundTtl;
+    @Nonnull
+    private final Clock clock;
+
+    /**
+     * Конструктор класса
+     *
+     * @param cacheDir    корневая директория кэша
+     * @param ttl         время, в течение которого закэшированные метаданные не перепроверяются в репозитории
+     * @param notFoundTtl время, в течение которого не выполняется повторный запрос отсутствующих в репозитории метаданных
+     */
+    public MavenMetadataCache(@Nonnull File cacheDir, @Nonnull Duration ttl, @Nonnull Duration notFoundTtl) {
+        this(cacheDir, ttl, notFoundTtl, Clock.systemUTC());
+    }
+
+    MavenMetadataCache(@Nonnull File cacheDir, @Nonnull Duration ttl, @Nonnull Duration notFoundTtl, @Nonnull Clock clock) {
+        this.cacheDir = requireNonNull(cacheDir, "cacheDir");
+        this.ttl = requireNonNull(ttl, "ttl");
+        this.notFoundTtl = requireNonNull(notFoundTtl, "notFoundTtl");
+        this.clock = requireNonNull(clock, "clock");
+    }
+
+    /**
+     * Возвращает закэшированную запись для артефакта в репозитории
+     *
+     * @param repoUrl      url репозитория
+     * @param metadataPath путь до maven-metadata.xml относительно репозитория
+     * @return запись кэша или Optional.empty(), если артефакт в кэше отсутствует
+     */
+    public Optional<Entry> find(@Nonnull String repoUrl, @Nonnull String metadataPath) {
+        File entryFile = getEntryFile(repoUrl, metadataPath);
+        if (!entryFile.isFile()) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(entryFile.toPath())))) {
+            if (input.readInt() != ENTRY_FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            Status status = Status.valueOf(input.readUTF());
+            long fetchedAt = input.readLong();
+            String etag = input.readBoolean() ? input.readUTF() : null;
+            long lastModified = input.readLong();
+            byte[] content = readAll(input);
+            return Optional.of(new Entry(status, fetchedAt, etag, lastModified, content));
+        } catch (IOException | RuntimeException e) {
+            log.info("Can't read maven-metadata cache entry, will ignore it: file={}", entryFile, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Сохраняет в кэш полученные из репозитория метаданные
+     *
+     * @param repoUrl      url репозитория
+     * @param metadataPath путь до maven-metadata.xml относительно репозитория
+     * @param content      содержимое maven-metadata.xml
+     * @param etag         значение заголовка ETag ответа
+     * @param lastModified значение заголовка Last-Modified ответа, 0 если заголовок отсутствует
+     * @return сохраненная запись кэша
+     */
+    public Entry storeFound(@Nonnull String repoUrl, @Nonnull String metadataPath, @Nonnull InputStream content,
+                            @Nullable String etag, long lastModified) throws IOException {
+        return storeEntry(getEntryFile(repoUrl, metadataPath),
+                new Entry(Status.FOUND, clock.millis(), etag, lastModified, readAll(content)));
+    }
+
+    /**
+     * Сохраняет в кэш информацию об отсутствии метаданных в репозитории
+     *
+     * @param repoUrl      url репозитория
+     * @param metadataPath путь до maven-metadata.xml относительно репозитория
+     */
+    public void storeNotFound(@Nonnull String repoUrl, @Nonnull String metadataPath) throws IOException {
+        storeEntry(getEntryFile(repoUrl, metadataPath), new Entry(Status.NOT_FOUND, clock.millis(), null, 0L, new byte[0]));
+    }
+
+    /**
+     * Обновляет время последней проверки записи, подтвержденной репозиторием (ответ 304 Not Modified)
+     *
+     * @param repoUrl      url репозитория
+     * @param metadataPath путь до maven-metadata.xml относительно репозитория
+     * @param entry        подтвержденная запись кэша
+     * @return обновленная запись кэша
+     */
+    public Entry markRevalidated(@Nonnull String repoUrl, @Nonnull String metadataPath, @Nonnull Entry entry)
+            throws IOException {
+        return storeEntry(getEntryFile(repoUrl, metadataPath),
+                new Entry(entry.status, clock.millis(), entry.etag, entry.lastModified, entry.content));
+    }
+
+    /**
+     * Проверяет, не истекло ли время жизни записи кэша
+     *
+     * @param entry запись кэша
+     * @return true, если запись можно использовать без обращения к репозиторию
+     */
+    public boolean isFresh(@Nonnull Entry entry) {
+        Duration entryTtl = entry.status == Status.FOUND ? ttl : notFoundTtl;
+        return clock.millis() - entry.fetchedAt < entryTtl.toMillis();
+    }
+
+    private static Entry storeEntry(File entryFile, Entry entry) throws IOException {
+        File parentDir = entryFile.getParentFile();
+        if (!parentDir.isDirectory() && !parentDir.mkdirs() && !parentDir.isDirectory()) {
+            throw new IOException("Can't create maven-metadata cache directory: " + parentDir);
+        }
+        Path tempFile = Files.createTempFile(parentDir.toPath(), entryFile.getName(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(tempFile)))) {
+                output.writeInt(ENTRY_FORMAT_VERSION);
+                output.writeUTF(entry.status.name());
+                output.writeLong(entry.fetchedAt);
+                output.writeBoolean(entry.etag != null);
+                if (entry.etag != null) {
+                    output.writeUTF(entry.etag);
+                }
+                output.writeLong(entry.lastModified);
+                output.write(entry.content);
+            }
+            Files.move(tempFile, entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        return entry;
+    }
+
+    private File getEntryFile(String repoUrl, String metadataPath) {
+        String entryPath = metadataPath.substring(0, Math.max(metadataPath.lastIndexOf('/'), 0));
+        return new File(new File(new File(cacheDir, getRepoDirName(repoUrl)), entryPath), ENTRY_FILE_NAME);
+    }
+
+    /**
+     * Возвращает имя директории репозитория: начало url для наглядности и хэш полного url,
+     * так что разные репозитории не попадают в одну директорию
+     */
+    private static String getRepoDirName(String repoUrl) {
+        String readablePrefix = repoUrl.replaceAll("^[a-zA-Z]+://", "").replaceAll("[^A-Za-z0-9.\\-]+", "_");
+        if (readablePrefix.length() > REPO_DIR_PREFIX_LENGTH) {
+            readablePrefix = readablePrefix.substring(0, REPO_DIR_PREFIX_LENGTH);
+        }
+        return readablePrefix + "-" + sha256(repoUrl);
+    }
+
+    private static String sha256(String value) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+        byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static byte[] readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Статус закэшированного артефакта
+     */
+    public enum Status {
+        /**
+         * Метаданные найдены в репозитории
+         */
+        FOUND,
+        /**
+         * Метаданные отсутствуют в репозитории
+         */
+        NOT_FOUND
+    }
+
+    /**
+     * Запись кэша
+     */
+    public static final class Entry {
+        private final Status status;
+        private final long fetchedAt;
+        @Nullable
+        private final String etag;
+        private final long lastModified;
+        private final byte[] content;
+
+        private Entry(Status status, long fetchedAt, @Nullable String etag, long lastModified, byte[] content) {
+            this.status = status;
+            this.fetchedAt = fetchedAt;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.content = content;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        @Nullable
+        public String getEtag() {
+            return etag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Возвращает поток с закэшированным содержимым maven-metadata.xml
+         *
+         * @return поток с содержимым
+         */
+        public InputStream openContent() {
+            return new ByteArrayInputStream(content);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.metadata;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.time.Duration;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Загружает maven-metadata.xml из репозиториев.
+ * <p>
+ * Если задан {@link MavenMetadataCache}, то метаданные из http-репозиториев сохраняются на диск. Пока не истекло время жизни
+ * записи, обращения к репозиторию не происходит. Устаревшая запись перепроверяется условным запросом
+ * (If-None-Match/If-Modified-Since), так что неизменившиеся метаданные повторно не скачиваются.
+ * Локальные репозитории (например, file://) не кэшируются.
+ * <p>
+ * Для каждого обращения к репозиторию устанавливаются таймауты соединения и чтения, так что зависший репозиторий
+ * не останавливает сборку.
+ * <p>
+ * В автономном режиме (offline) к http-репозиториям не обращаемся: метаданные берутся из кэша независимо от времени жизни
+ * записи, а при их отсутствии выбрасывается {@link MetadataNotCachedException}. Локальные репозитории читаются как обычно.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MavenMetadataLoader {
+    @Nullable
+    private final MavenMetadataCache cache;
+    @Nonnull
+    private final Duration connectTimeout;
+    @Nonnull
+    private final Duration readTimeout;
+    private final boolean offline;
+
+    /**
+     * Конструктор класса
+     *
+     * @param cache          дисковый кэш метаданных, null если кэширование не требуется
+     * @param connectTimeout таймаут установки соединения с репозиторием
+     * @param readTimeout    таймаут чтения ответа репозитория
+     * @param offline        автономный режим, в котором не выполняются обращения к http-репозиториям
+     */
+    public MavenMetadataLoader(@Nullable MavenMetadataCache cache, @Nonnull Duration connectTimeout,
+                               @Nonnull Duration readTimeout, boolean offline) {
+        this.cache = cache;
+        this.connectTimeout = requireNonNull(connectTimeout, "connectTimeout");
+        this.readTimeout = requireNonNull(readTimeout, "readTimeout");
+        this.offline = offline;
+    }
+
+    /**
+     * Загружает и читает maven-metadata.xml артефакта
+     *
+     * @param repoUrl      url репозитория
+     * @param metadataPath путь до maven-metadata.xml относительно репозитория
+     * @param reader       обработчик содержимого maven-metadata.xml
+     * @param <T>          тип результата обработки
+     * @return результат обработки или Optional.empty(), если метаданные в репозитории отсутствуют
+     * @throws MetadataNotCachedException в автономном режиме, если метаданные http-репозитория отсутствуют в кэше
+     */
+    public <T> Optional<T> load(@Nonnull String repoUrl, @Nonnull String metadataPath,
+                                @Nonnull ContentReader<T> reader) throws Exception {
+        URL url = new URL(repoUrl + metadataPath);
+        if (!isHttp(url)) {
+            return loadDirectly(url, reader);
+        }
+        if (offline) {
+            return loadOffline(url, repoUrl, metadataPath, reader);
+        }
+        if (cache == null) {
+            return loadDirectly(url, reader);
+        }
+
+        Optional<MavenMetadataCache.Entry> cachedEntry = cache.find(repoUrl, metadataPath);
+        if (cachedEntry.isPresent() && cache.isFresh(cachedEntry.get())) {
+            return readEntry(cachedEntry.get(), reader);
+        }
+
+        MavenMetadataCache.Entry revalidatedEntry = cachedEntry
+                .filter(entry -> entry.getStatus() == MavenMetadataCache.Status.FOUND)
+                .orElse(null);
+
+        HttpURLConnection connection = (HttpURLConnection) openConnection(url);
+        if (revalidatedEntry != null) {
+            if (revalidatedEntry.getEtag() != null) {
+                connection.setRequestProperty("If-None-Match", revalidatedEntry.getEtag());
+            }
+            if (revalidatedEntry.getLastModified() > 0) {
+                connection.setIfModifiedSince(revalidatedEntry.getLastModified());
+            }
+        }
+
+        int responseCode = connection.getResponseCode();
+        if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && revalidatedEntry != null) {
+            return readEntry(cache.markRevalidated(repoUrl, metadataPath, revalidatedEntry), reader);
+        }
+        if (responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
+            closeErrorStream(connection);
+            cache.storeNotFound(repoUrl, metadataPath);
+            return Optional.empty();
+        }
+        if (responseCode != HttpURLConnection.HTTP_OK) {
+            closeErrorStream(connection);
+            throw new IOException(String.format("Unexpected response: url=%s, code=%s", url, responseCode));
+        }
+
+        MavenMetadataCache.Entry storedEntry;
+        try (InputStream content = connection.getInputStream()) {
+            storedEntry = cache.storeFound(repoUrl, metadataPath, content,
+                    connection.getHeaderField("ETag"), connection.getLastModified());
+        }
+        return readEntry(storedEntry, reader);
+    }
+
+    private <T> Optional<T> loadOffline(URL url, String repoUrl, String metadataPath, ContentReader<T> reader)
+            throws Exception {
+        Optional<MavenMetadataCache.Entry> cachedEntry = cache == null
+                ? Optional.empty()
+                : cache.find(repoUrl, metadataPath);
+        if (!cachedEntry.isPresent()) {
+            throw new MetadataNotCachedException(url.toString());
+        }
+        return readEntry(cachedEntry.get(), reader);
+    }
+
+    private <T> Optional<T> loadDirectly(URL url, ContentReader<T> reader) throws Exception {
+        URLConnection connection = openConnection(url);
+        try (InputStream content = connection.getInputStream()) {
+            return Optional.of(reader.read(content));
+        } catch (FileNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    private URLConnection openConnection(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(Math.toIntExact(connectTimeout.toMillis()));
+        connection.setReadTimeout(Math.toIntExact(readTimeout.toMillis()));
+        return connection;
+    }
+
+    private static <T> Optional<T> readEntry(MavenMetadataCache.Entry entry, ContentReader<T> reader) throws Exception {
+        if (entry.getStatus() == MavenMetadataCache.Status.NOT_FOUND) {
+            return Optional.empty();
+        }
+        try (InputStream content = entry.openContent()) {
+            return Optional.of(reader.read(content));
+        }
+    }
+
+    private static void closeErrorStream(HttpURLConnection connection) throws IOException {
+        InputStream errorStream = connection.getErrorStream();
+        if (errorStream != null) {
+            errorStream.close();
+        }
+    }
+
+    private static boolean isHttp(URL url) {
+        return "http".equalsIgnoreCase(url.getProtocol()) || "https".equalsIgnoreCase(url.getProtocol());
+    }
+
+    /**
+     * Обработчик содержимого maven-metadata.xml
+     *
+     * @param <T> тип результата обработки
+     */
+    @FunctionalInterface
+    public interface ContentReader<T> {
+        /**
+         * Читает содержимое maven-metadata.xml
+         *
+         * @param content поток с содержимым maven-metadata.xml
+         * @return результат обработки
+         */
+        T read(InputStream content) throws Exception;
+    }
+}
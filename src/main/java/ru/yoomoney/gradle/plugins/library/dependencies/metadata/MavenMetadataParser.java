@@ -0,0 +1,65 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.metadata;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Разбирает содержимое maven-metadata.xml.
+ * <p>
+ * Использует потоковый StAX-парсер: документ читается непосредственно из переданного потока без построения DOM,
+ * а чтение прекращается сразу после списка версий (versioning/versions).
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class MavenMetadataParser {
+    private static final String VERSION_ELEMENT = "version";
+    private static final String VERSIONS_ELEMENT = "versions";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private MavenMetadataParser() {
+    }
+
+    /**
+     * Возвращает список версий артефакта, перечисленных в maven-metadata.xml
+     *
+     * @param content содержимое maven-metadata.xml
+     * @return список версий артефакта
+     */
+    public static List<String> parseVersions(InputStream content) throws XMLStreamException {
+        List<String> versions = new ArrayList<>();
+
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(content);
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && VERSION_ELEMENT.equals(reader.getLocalName())) {
+                    String version = reader.getElementText().trim();
+                    if (!version.isEmpty()) {
+                        versions.add(version);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && VERSIONS_ELEMENT.equals(reader.getLocalName())) {
+                    // Список версий прочитан, остаток документа (lastUpdated и т.п.) не нужен
+                    break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return versions;
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
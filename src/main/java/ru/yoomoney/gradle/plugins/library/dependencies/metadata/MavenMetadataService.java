@@ -0,0 +1,346 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.metadata;
+
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Общий для всех проектов сборки сервис получения версий артефактов из maven-metadata.xml.
+ * <p>
+ * Хранит в памяти результаты разбора метаданных для каждой пары (url репозитория, артефакт), так что метаданные одного
+ * артефакта загружаются из репозитория не более одного раза за сборку. Одновременные запросы одного и того же артефакта
+ * (например, при сборке с --parallel) ожидают результата единственной загрузки.
+ * <p>
+ * Загрузка выполняется в пуле потоков ограниченного размера, порядок опроса репозиториев определяется
+ * {@link RepositoryLookupMode}. Репозиторий, несколько раз подряд ответивший ошибкой или не ответивший за отведенное время,
+ * отключается до конца сборки. В автономном режиме метаданные http-репозиториев берутся только из дискового кэша,
+ * а запросы, на которые нельзя ответить без обращения к репозиторию, пропускаются.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public abstract class MavenMetadataService implements BuildService<MavenMetadataService.Params>, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(MavenMetadataService.class);
+
+    private final ConcurrentMap<String, CompletableFuture<Optional<List<String>>>> versions = new ConcurrentHashMap<>();
+    private final MavenMetadataLoader metadataLoader;
+    private final RepositoryCircuitBreaker circuitBreaker;
+    private final Set<String> skippedLookups = ConcurrentHashMap.newKeySet();
+    private final boolean offline;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService hedgeScheduler;
+    private final RepositoryLookupMode lookupMode;
+    private final long hedgeDelayMillis;
+
+    public MavenMetadataService() {
+        Params parameters = getParameters();
+        this.metadataLoader = new MavenMetadataLoader(new MavenMetadataCache(
+                parameters.getCacheDir().get().getAsFile(),
+                Duration.ofMinutes(parameters.getCacheTtlMinutes().get()),
+                Duration.ofMinutes(parameters.getNotFoundCacheTtlMinutes().get())),
+                Duration.ofMillis(parameters.getConnectTimeoutMillis().get()),
+                Duration.ofMillis(parameters.getReadTimeoutMillis().get()),
+                parameters.getOffline().get());
+        this.offline = parameters.getOffline().get();
+        this.circuitBreaker = new RepositoryCircuitBreaker(parameters.getRepositoryFailureThreshold().get());
+        this.executor = Executors.newFixedThreadPool(parameters.getFetchParallelism().get(),
+                new MetadataThreadFactory("check-dependencies-metadata-"));
+        this.hedgeScheduler = Executors.newSingleThreadScheduledExecutor(
+                new MetadataThreadFactory("check-dependencies-metadata-hedge-"));
+        this.lookupMode = parameters.getLookupMode().get();
+        this.hedgeDelayMillis = parameters.getHedgeDelayMillis().get();
+    }
+
+    /**
+     * Асинхронно ищет maven-metadata.xml артефакта в переданных репозиториях и возвращает перечисленные в нем версии
+     *
+     * @param repoUrls     url репозиториев в порядке приоритета
+     * @param metadataPath путь до maven-metadata.xml относительно репозитория
+     * @return список версий или Optional.empty(), если метаданные не найдены ни в одном репозитории
+     */
+    public CompletableFuture<Optional<List<String>>> findVersionsAsync(@Nonnull Collection<String> repoUrls,
+                                                                       @Nonnull String metadataPath) {
+        List<String> orderedRepoUrls = new ArrayList<>(repoUrls);
+        switch (lookupMode) {
+            case PARALLEL:
+                return findInAllRepositories(orderedRepoUrls, metadataPath);
+            case HEDGED:
+                return findHedged(orderedRepoUrls, metadataPath);
+            case SEQUENTIAL:
+            default:
+                return findSequentially(orderedRepoUrls, 0, metadataPath);
+        }
+    }
+
+    /**
+     * Возвращает репозитории, отключенные из-за идущих подряд ошибок
+     *
+     * @return отображение url репозитория в причину отключения
+     */
+    public Map<String, String> getDisabledRepositories() {
+        return circuitBreaker.getDisabledRepositories();
+    }
+
+    /**
+     * Признак автономного режима, в котором не выполняются обращения к http-репозиториям
+     *
+     * @return true, если включен автономный режим
+     */
+    public boolean isOffline() {
+        return offline;
+    }
+
+    /**
+     * Возвращает запросы метаданных, пропущенные в автономном режиме из-за отсутствия метаданных в кэше
+     *
+     * @return отсортированный список url пропущенных maven-metadata.xml
+     */
+    public List<String> getSkippedLookups() {
+        return skippedLookups.stream().sorted().collect(Collectors.toList());
+    }
+
+    private CompletableFuture<Optional<List<String>>> findSequentially(List<String> repoUrls, int index,
+                                                                       String metadataPath) {
+        if (index >= repoUrls.size()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return fetchAsync(repoUrls.get(index), metadataPath)
+                .thenCompose(found -> found.isPresent()
+                        ? CompletableFuture.completedFuture(found)
+                        : findSequentially(repoUrls, index + 1, metadataPath));
+    }
+
+    private CompletableFuture<Optional<List<String>>> findInAllRepositories(List<String> repoUrls, String metadataPath) {
+        List<CompletableFuture<Optional<List<String>>>> futures = new ArrayList<>();
+        repoUrls.forEach(repoUrl -> futures.add(fetchAsync(repoUrl, metadataPath)));
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    Set<String> mergedVersions = new LinkedHashSet<>();
+                    boolean found = false;
+                    for (CompletableFuture<Optional<List<String>>> future : futures) {
+                        Optional<List<String>> repoVersions = future.join();
+                        if (repoVersions.isPresent()) {
+                            found = true;
+                            mergedVersions.addAll(repoVersions.get());
+                        }
+                    }
+                    return found ? Optional.of(new ArrayList<>(mergedVersions)) : Optional.empty();
+                });
+    }
+
+    /**
+     * Возвращает первый полученный ответ с метаданными. Ответ репозитория с меньшим приоритетом, полученный раньше,
+     * выигрывает у более приоритетного, поэтому результат зависит от времени ответа репозиториев
+     */
+    private CompletableFuture<Optional<List<String>>> findHedged(List<String> repoUrls, String metadataPath) {
+        CompletableFuture<Optional<List<String>>> result = new CompletableFuture<>();
+        if (repoUrls.isEmpty()) {
+            result.complete(Optional.empty());
+        } else {
+            startHedged(repoUrls, 0, metadataPath, result, new AtomicInteger(repoUrls.size()));
+        }
+        return result;
+    }
+
+    private void startHedged(List<String> repoUrls, int index, String metadataPath,
+                             CompletableFuture<Optional<List<String>>> result, AtomicInteger pendingRepositories) {
+        if (index >= repoUrls.size() || result.isDone()) {
+            return;
+        }
+
+        AtomicBoolean nextStarted = new AtomicBoolean();
+        Runnable startNext = () -> {
+            if (nextStarted.compareAndSet(false, true)) {
+                startHedged(repoUrls, index + 1, metadataPath, result, pendingRepositories);
+            }
+        };
+
+        fetchAsync(repoUrls.get(index), metadataPath).thenAccept(found -> {
+            if (found.isPresent()) {
+                result.complete(found);
+            } else {
+                startNext.run();
+            }
+            if (pendingRepositories.decrementAndGet() == 0) {
+                result.complete(Optional.empty());
+            }
+        });
+        hedgeScheduler.schedule(startNext, hedgeDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Загружает maven-metadata.xml из репозитория. Одновременные запросы одних и тех же метаданных
+     * получают результат единственной загрузки.
+     */
+    private CompletableFuture<Optional<List<String>>> fetchAsync(String repoUrl, String metadataPath) {
+        String key = repoUrl + metadataPath;
+        CompletableFuture<Optional<List<String>>> loading = versions.get(key);
+        if (loading != null) {
+            return loading;
+        }
+
+        CompletableFuture<Optional<List<String>>> created = new CompletableFuture<>();
+        loading = versions.putIfAbsent(key, created);
+        if (loading != null) {
+            return loading;
+        }
+
+        executor.execute(() -> load(key, repoUrl, metadataPath, created));
+        return created;
+    }
+
+    private void load(String key, String repoUrl, String metadataPath, CompletableFuture<Optional<List<String>>> result) {
+        if (circuitBreaker.isDisabled(repoUrl)) {
+            log.info("Repository is disabled, will try next repository: repository={}, path={}", repoUrl, metadataPath);
+            versions.remove(key, result);
+            result.complete(Optional.empty());
+            return;
+        }
+        try {
+            Optional<List<String>> found = metadataLoader.load(repoUrl, metadataPath, MavenMetadataParser::parseVersions);
+            circuitBreaker.recordSuccess(repoUrl);
+            if (!found.isPresent()) {
+                log.info("maven-metadata.xml not found, will try next repository: repository={}, path={}",
+                        repoUrl, metadataPath);
+            }
+            result.complete(found);
+        } catch (MetadataNotCachedException e) {
+            log.info("Lookup skipped in offline mode, will try next repository: repository={}, path={}",
+                    repoUrl, metadataPath);
+            skippedLookups.add(repoUrl + metadataPath);
+            result.complete(Optional.empty());
+        } catch (Exception e) {
+            log.info("Can't get or parse maven-metadata.xml, will try next repository: repository={}, path={}",
+                    repoUrl, metadataPath, e);
+            if (isRepositoryFailure(e) && circuitBreaker.recordFailure(repoUrl, describeFailure(e))) {
+                log.warn("Repository disabled until the end of the build: repository={}, reason={}",
+                        repoUrl, circuitBreaker.getDisabledRepositories().get(repoUrl));
+            }
+            // Неудачную загрузку не запоминаем, чтобы следующий запрос повторил попытку
+            versions.remove(key, result);
+            result.complete(Optional.empty());
+        }
+    }
+
+    /**
+     * Ошибка разбора метаданных говорит о проблеме конкретного артефакта, а не репозитория
+     */
+    private static boolean isRepositoryFailure(Exception e) {
+        return e instanceof IOException;
+    }
+
+    private static String describeFailure(Exception e) {
+        if (e instanceof SocketTimeoutException) {
+            return "timeout: " + e.getMessage();
+        }
+        return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    @Override
+    public void close() {
+        hedgeScheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Создает потоки-демоны для загрузки метаданных
+     */
+    private static class MetadataThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        MetadataThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(@Nonnull Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Параметры сервиса
+     */
+    public interface Params extends BuildServiceParameters {
+        /**
+         * Директория дискового кэша maven-metadata.xml
+         */
+        DirectoryProperty getCacheDir();
+
+        /**
+         * Время жизни закэшированных метаданных в минутах
+         */
+        Property<Long> getCacheTtlMinutes();
+
+        /**
+         * Время жизни информации об отсутствии метаданных в репозитории в минутах
+         */
+        Property<Long> getNotFoundCacheTtlMinutes();
+
+        /**
+         * Максимальное число одновременных запросов к репозиториям
+         */
+        Property<Integer> getFetchParallelism();
+
+        /**
+         * Способ опроса нескольких репозиториев
+         */
+        Property<RepositoryLookupMode> getLookupMode();
+
+        /**
+         * Время ожидания ответа репозитория в миллисекундах, после которого в режиме {@link RepositoryLookupMode#HEDGED}
+         * опрашивается следующий репозиторий
+         */
+        Property<Long> getHedgeDelayMillis();
+
+        /**
+         * Таймаут установки соединения с репозиторием в миллисекундах
+         */
+        Property<Long> getConnectTimeoutMillis();
+
+        /**
+         * Таймаут чтения ответа репозитория в миллисекундах
+         */
+        Property<Long> getReadTimeoutMillis();
+
+        /**
+         * Число идущих подряд ошибок обращения к репозиторию, после которого репозиторий отключается до конца сборки
+         */
+        Property<Integer> getRepositoryFailureThreshold();
+
+        /**
+         * Автономный режим, в котором метаданные http-репозиториев берутся только из дискового кэша
+         */
+        Property<Boolean> getOffline();
+    }
+}
@@ -0,0 +1,21 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.metadata;
+
+/**
+ * Выбрасывается в автономном режиме, если метаданные артефакта отсутствуют в локальном кэше
+ * и не могут быть получены без обращения к репозиторию
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MetadataNotCachedException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Конструктор класса
+     *
+     * @param url url maven-metadata.xml
+     */
+    public MetadataNotCachedException(String url) {
+        super("maven-metadata.xml is not cached and can't be loaded in offline mode: url=" + url);
+    }
+}
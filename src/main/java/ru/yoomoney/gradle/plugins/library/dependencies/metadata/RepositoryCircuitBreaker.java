@@ -0,0 +1,85 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.metadata;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Отключает репозиторий до конца сборки после заданного числа идущих подряд ошибок обращения к нему.
+ * <p>
+ * Позволяет не ждать таймаута на каждом артефакте, если репозиторий недоступен или завис.
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class RepositoryCircuitBreaker {
+    private final ConcurrentMap<String, AtomicInteger> consecutiveFailures = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> disabledRepositories = new ConcurrentHashMap<>();
+    private final int failureThreshold;
+
+    /**
+     * Конструктор класса
+     *
+     * @param failureThreshold число идущих подряд ошибок, после которого репозиторий отключается
+     */
+    public RepositoryCircuitBreaker(int failureThreshold) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be positive: failureThreshold=" + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Проверяет, отключен ли репозиторий
+     *
+     * @param repoUrl url репозитория
+     * @return true, если обращаться к репозиторию не нужно
+     */
+    public boolean isDisabled(@Nonnull String repoUrl) {
+        return disabledRepositories.containsKey(repoUrl);
+    }
+
+    /**
+     * Фиксирует успешное обращение к репозиторию, сбрасывая счетчик ошибок
+     *
+     * @param repoUrl url репозитория
+     */
+    public void recordSuccess(@Nonnull String repoUrl) {
+        AtomicInteger failures = consecutiveFailures.get(repoUrl);
+        if (failures != null) {
+            failures.set(0);
+        }
+    }
+
+    /**
+     * Фиксирует ошибку обращения к репозиторию
+     *
+     * @param repoUrl url репозитория
+     * @param reason  описание ошибки
+     * @return true, если в результате этой ошибки репозиторий был отключен
+     */
+    public boolean recordFailure(@Nonnull String repoUrl, @Nonnull String reason) {
+        requireNonNull(reason, "reason");
+        int failures = consecutiveFailures.computeIfAbsent(repoUrl, url -> new AtomicInteger()).incrementAndGet();
+        if (failures < failureThreshold) {
+            return false;
+        }
+        return disabledRepositories.putIfAbsent(repoUrl,
+                String.format("%s consecutive failures, last failure: %s", failures, reason)) == null;
+    }
+
+    /**
+     * Возвращает отключенные репозитории
+     *
+     * @return отображение url репозитория в причину отключения
+     */
+    public Map<String, String> getDisabledRepositories() {
+        return Collections.unmodifiableMap(new TreeMap<>(disabledRepositories));
+    }
+}
@@ -0,0 +1,25 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.metadata;
+
+/**
+ * Способ поиска maven-metadata.xml артефакта в нескольких репозиториях
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public enum RepositoryLookupMode {
+    /**
+     * Репозитории опрашиваются по очереди в порядке объявления, используется первый репозиторий, в котором найдены метаданные
+     */
+    SEQUENTIAL,
+    /**
+     * Репозитории опрашиваются по очереди в порядке объявления, но если репозиторий не ответил за заданное время,
+     * параллельно опрашивается следующий. Используется первый полученный ответ с метаданными, даже если он получен
+     * от репозитория с меньшим приоритетом, поэтому результат поиска зависит от времени ответа репозиториев
+     */
+    HEDGED,
+    /**
+     * Все репозитории опрашиваются одновременно, списки версий из всех репозиториев объединяются в порядке объявления
+     * репозиториев независимо от времени ответа
+     */
+    PARALLEL
+}
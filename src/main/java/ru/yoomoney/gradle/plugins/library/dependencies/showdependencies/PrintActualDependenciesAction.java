@@ -11,6 +11,7 @@ import org.gradle.api.artifacts.ModuleVersionIdentifier;
 import org.gradle.api.artifacts.ResolvedArtifact;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.GroupIdPrefixMatcher;
 
 import javax.annotation.Nonnull;
 import java.io.File;
@@ -45,6 +46,8 @@ public class PrintActualDependenciesAction implements Action<Project> {
      */
     @Nonnull
     private final Set<String> includeGroupIdPrefixes;
+    @Nonnull
+    private final GroupIdPrefixMatcher includeGroupIdMatcher;
 
     PrintActualDependenciesAction() {
         this(Collections.emptySet());
@@ -52,6 +55,7 @@ public class PrintActualDependenciesAction implements Action<Project> {
 
     PrintActualDependenciesAction(@Nonnull Set<String> includeGroupIdPrefixes) {
         this.includeGroupIdPrefixes = requireNonNull(includeGroupIdPrefixes, "includeGroupIdPrefixes");
+        this.includeGroupIdMatcher = GroupIdPrefixMatcher.of(includeGroupIdPrefixes);
     }
 
     @Override
@@ -156,11 +160,6 @@ public class PrintActualDependenciesAction implements Action<Project> {
     private boolean doNeedCheck(@Nonnull Dependency dependency) {
         requireNonNull(dependency, "dependency");
 
-        if (includeGroupIdPrefixes.isEmpty()) {
-            return true;
-        }
-
-        return includeGroupIdPrefixes.stream()
-                .anyMatch(prefix -> dependency.getGroup() != null && dependency.getGroup().startsWith(prefix));
+        return includeGroupIdMatcher.matches(dependency.getGroup());
     }
 }
@@ -16,17 +16,21 @@ import static java.util.Objects.requireNonNull;
 public class PrintActualDependenciesByGroupTask extends DefaultTask {
     private Set<String> includeGroupIdPrefixes;
 
+    public PrintActualDependenciesByGroupTask() {
+        notCompatibleWithConfigurationCache("Prints dependencies of all projects of the build");
+    }
+
     /**
      * Выводит актуальные версии библиотек по списку префиксов
      */
     @TaskAction
     public void printActualInnerVersion() {
-        getProject().getLogger().lifecycle("===============Actual dependencies by group===============");
+        getLogger().lifecycle("===============Actual dependencies by group===============");
 
         Action<Project> printDependenciesAction = new PrintActualDependenciesAction(includeGroupIdPrefixes);
         getProject().allprojects(printDependenciesAction);
 
-        getProject().getLogger().lifecycle("====================================================");
+        getLogger().lifecycle("====================================================");
     }
 
     public void setIncludeGroupIdPrefixes(@Nonnull Set<String> includeGroupIdPrefixes) {
@@ -10,17 +10,21 @@ import org.gradle.api.tasks.TaskAction;
  */
 public class PrintAllActualDependenciesTask extends DefaultTask {
 
+    public PrintAllActualDependenciesTask() {
+        notCompatibleWithConfigurationCache("Prints dependencies of all projects of the build");
+    }
+
     /**
      * Выводит актуальные версии всех библиотек
      */
     @TaskAction
     public void printActualOuterVersion() {
-        getProject().getLogger().lifecycle("===============Actual dependencies===============");
+        getLogger().lifecycle("===============Actual dependencies===============");
 
         Action<Project> printDependenciesAction = new PrintActualDependenciesAction();
         getProject().allprojects(printDependenciesAction);
 
-        getProject().getLogger().lifecycle("====================================================");
+        getLogger().lifecycle("====================================================");
     }
 
 }
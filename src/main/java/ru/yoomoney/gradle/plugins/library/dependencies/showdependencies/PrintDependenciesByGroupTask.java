@@ -21,17 +21,23 @@ public class PrintDependenciesByGroupTask extends DefaultTask {
     private Set<String> includeGroupIdPrefixes;
     private ArtifactVersionResolver artifactVersionResolver;
 
+    public PrintDependenciesByGroupTask() {
+        notCompatibleWithConfigurationCache("Prints dependencies of all projects of the build");
+    }
+
     /**
      * Выводит новые версии библиотек по списку префиксов
      */
     @TaskAction
     public void printInnerVersion() {
-        getProject().getLogger().lifecycle("===============New dependencies by group===============");
+        getLogger().lifecycle("===============New dependencies by group===============");
 
         Action<Project> printDependenciesAction = new PrintNewDependenciesAction(includeGroupIdPrefixes, artifactVersionResolver);
         getProject().allprojects(printDependenciesAction);
+        PrintNewDependenciesAction.printDisabledRepositories(getLogger(), artifactVersionResolver);
+        PrintNewDependenciesAction.printSkippedLookups(getLogger(), artifactVersionResolver);
 
-        getProject().getLogger().lifecycle("====================================================");
+        getLogger().lifecycle("====================================================");
     }
 
     public void setIncludeGroupIdPrefixes(@Nonnull Set<String> includeGroupIdPrefixes) {
@@ -10,11 +10,15 @@ import org.gradle.api.artifacts.ResolvedArtifact;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.yoomoney.gradle.plugins.library.dependencies.ArtifactVersionResolver;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.GroupIdPrefixMatcher;
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -43,6 +47,8 @@ public class PrintNewDependenciesAction implements Action<Project> {
     @Nonnull
     private final Set<String> includeGroupIdPrefixes;
     @Nonnull
+    private final GroupIdPrefixMatcher includeGroupIdMatcher;
+    @Nonnull
     private final ArtifactVersionResolver artifactVersionResolver;
 
     PrintNewDependenciesAction(@Nonnull ArtifactVersionResolver artifactVersionResolver) {
@@ -52,6 +58,7 @@ public class PrintNewDependenciesAction implements Action<Project> {
     PrintNewDependenciesAction(@Nonnull Set<String> includeGroupIdPrefixes,
                                @Nonnull ArtifactVersionResolver artifactVersionResolver) {
         this.includeGroupIdPrefixes = requireNonNull(includeGroupIdPrefixes, "includeGroupIdPrefixes");
+        this.includeGroupIdMatcher = GroupIdPrefixMatcher.of(includeGroupIdPrefixes);
         this.artifactVersionResolver = requireNonNull(artifactVersionResolver, "artifactVersionResolver");
     }
 
@@ -64,6 +71,7 @@ public class PrintNewDependenciesAction implements Action<Project> {
                 .flatMap(Collection::stream)
                 .collect(Collectors.toList());
 
+        Map<Dependency, String> printedDependencies = new LinkedHashMap<>();
         for (Configuration configuration : allConfigurations) {
             try {
                 Set<ResolvedArtifact> resolvedArtifacts = configuration
@@ -86,19 +94,9 @@ public class PrintNewDependenciesAction implements Action<Project> {
                                      }
                                      checked.put(dependency, true);
 
-                                     if (doNeedPrint(dependency)) {
+                                     if (doNeedPrint(dependency) && dependency.getGroup() != null) {
                                          String realVersion = resolvedVersionMap.get(dependency.getGroup() + ":" + dependency.getName());
-                                         try {
-                                             printLatestDependencyVersion(dependency, realVersion);
-                                         } catch (Exception e) {
-                                             log.warn(
-                                                     "Can't get latest dependency version: {}:{} {}",
-                                                     dependency.getGroup(),
-                                                     dependency.getName(),
-                                                     realVersion
-                                             );
-                                         }
-
+                                         printedDependencies.put(dependency, realVersion);
                                      }
                                  }
                         );
@@ -106,14 +104,53 @@ public class PrintNewDependenciesAction implements Action<Project> {
                 log.info(String.format("The trouble with resolve configuration: configuration=%s", configuration.getName()), e);
             }
         }
+
+        printLatestDependencyVersions(printedDependencies);
+    }
+
+    /**
+     * Выводит новые версии библиотек. Последние версии всех библиотек запрашиваются из репозиториев параллельно.
+     *
+     * @param dependencies отображение зависимости в ее текущую версию
+     */
+    private void printLatestDependencyVersions(Map<Dependency, String> dependencies) {
+        Map<LibraryName, Optional<String>> latestVersions = artifactVersionResolver.getArtifactsLatestVersions(
+                dependencies.keySet().stream()
+                        .map(dependency -> new LibraryName(dependency.getGroup(), dependency.getName()))
+                        .collect(Collectors.toCollection(LinkedHashSet::new)));
+
+        dependencies.forEach((dependency, realVersion) ->
+                latestVersions.getOrDefault(new LibraryName(dependency.getGroup(), dependency.getName()), Optional.empty())
+                        .filter(newVersion -> !Objects.equals(realVersion, newVersion))
+                        .ifPresent(newVersion -> printNewVersion(dependency, realVersion, newVersion)));
+    }
+
+    /**
+     * Выводит репозитории, отключенные из-за ошибок обращения к ним. Новые версии из этих репозиториев могли быть не найдены
+     *
+     * @param logger                  логгер задачи
+     * @param artifactVersionResolver сервис поиска версий
+     */
+    static void printDisabledRepositories(@Nonnull Logger logger,
+                                          @Nonnull ArtifactVersionResolver artifactVersionResolver) {
+        artifactVersionResolver.getDisabledRepositories().forEach((repoUrl, reason) ->
+                logger.warn("Repository was disabled, new versions may be incomplete: repository={}, reason={}", repoUrl, reason));
     }
 
-    private void printLatestDependencyVersion(Dependency dependency, String realVersion) {
-        Optional.of(dependency)
-                .filter(dep -> dep.getGroup() != null)
-                .flatMap(dep -> artifactVersionResolver.getArtifactLatestVersion(dependency.getGroup(), dependency.getName()))
-                .filter(newVersion -> !Objects.equals(realVersion, newVersion))
-                .ifPresent(newVersion -> printNewVersion(dependency, realVersion, newVersion));
+    /**
+     * Выводит запросы метаданных, пропущенные в автономном режиме из-за отсутствия метаданных в локальном кэше
+     *
+     * @param logger                  логгер задачи
+     * @param artifactVersionResolver сервис поиска версий
+     */
+    static void printSkippedLookups(@Nonnull Logger logger, @Nonnull ArtifactVersionResolver artifactVersionResolver) {
+        if (!artifactVersionResolver.isOffline()) {
+            return;
+        }
+        List<String> skippedLookups = artifactVersionResolver.getSkippedLookups();
+        logger.warn("Offline mode: new versions are looked up in cached metadata only, skipped lookups: {}",
+                skippedLookups.size());
+        skippedLookups.forEach(lookup -> logger.warn("Skipped, not cached: {}", lookup));
     }
 
     private void printNewVersion(Dependency dependency, String realVersion, String newVersion) {
@@ -123,11 +160,6 @@ public class PrintNewDependenciesAction implements Action<Project> {
     private boolean doNeedPrint(@Nonnull Dependency dependency) {
         requireNonNull(dependency, "dependency");
 
-        if (includeGroupIdPrefixes.isEmpty()) {
-            return true;
-        }
-
-        return includeGroupIdPrefixes.stream()
-                .anyMatch(prefix -> dependency.getGroup() != null && dependency.getGroup().startsWith(prefix));
+        return includeGroupIdMatcher.matches(dependency.getGroup());
     }
 }
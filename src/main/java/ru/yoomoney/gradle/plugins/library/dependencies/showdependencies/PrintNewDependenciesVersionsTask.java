@@ -15,17 +15,23 @@ import ru.yoomoney.gradle.plugins.library.dependencies.ArtifactVersionResolver;
 public class PrintNewDependenciesVersionsTask extends DefaultTask {
     private ArtifactVersionResolver artifactVersionResolver;
 
+    public PrintNewDependenciesVersionsTask() {
+        notCompatibleWithConfigurationCache("Prints dependencies of all projects of the build");
+    }
+
     /**
      * Выводит новые версии всех библиотек
      */
     @TaskAction
     public void printNewVersion() {
-        getProject().getLogger().lifecycle("===============New dependencies===============");
+        getLogger().lifecycle("===============New dependencies===============");
 
         Action<Project> printDependenciesAction = new PrintNewDependenciesAction(artifactVersionResolver);
         getProject().allprojects(printDependenciesAction);
+        PrintNewDependenciesAction.printDisabledRepositories(getLogger(), artifactVersionResolver);
+        PrintNewDependenciesAction.printSkippedLookups(getLogger(), artifactVersionResolver);
 
-        getProject().getLogger().lifecycle("====================================================");
+        getLogger().lifecycle("====================================================");
     }
 
     public void setArtifactVersionResolver(ArtifactVersionResolver artifactVersionResolver) {
@@ -1,11 +1,13 @@
 package ru.yoomoney.gradle.plugins.library.dependencies.snapshot;
 
 import org.gradle.api.DefaultTask;
+import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.artifacts.repositories.MavenArtifactRepository;
 import org.gradle.api.initialization.dsl.ScriptHandler;
 import org.gradle.api.internal.artifacts.dependencies.ProjectDependencyInternal;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskAction;
 
 import java.util.Collection;
@@ -14,7 +16,9 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
- * Проверяет наличие snapshot-зависимостей
+ * Проверяет наличие snapshot-зависимостей.
+ * Репозитории и зависимости проекта и его buildscript собираются провайдерами, поэтому при выполнении задача
+ * не обращается к проекту.
  *
  * @author horyukova
  * @since 27.02.2019
@@ -24,59 +28,75 @@ public class CheckSnapshotsDependenciesTask extends DefaultTask {
     private static final Pattern SNAPSHOT_REPOSITORY_PATTERN = Pattern.compile("^.+snapshots/?$");
     private static final String FORCE_FLAG = "allowSnapshot";
 
+    private final Provider<Boolean> snapshotsAllowed;
+    private final Provider<Set<String>> buildscriptSnapshotRepositories;
+    private final Provider<Set<String>> buildscriptSnapshotDependencies;
+    private final Provider<Set<String>> snapshotDependencies;
+
+    public CheckSnapshotsDependenciesTask() {
+        Project project = getProject();
+        ScriptHandler buildscript = project.getBuildscript();
+        snapshotsAllowed = project.provider(() -> project.hasProperty(FORCE_FLAG)
+                && Boolean.parseBoolean(project.findProperty(FORCE_FLAG).toString()));
+        buildscriptSnapshotRepositories = project.provider(() -> findSnapshotRepositories(buildscript));
+        buildscriptSnapshotDependencies = project.provider(() -> findSnapshotDependencies(buildscript.getConfigurations()));
+        snapshotDependencies = project.provider(() -> findSnapshotDependencies(project.getConfigurations()));
+    }
+
     /**
      * Проверка snapshot-зависимостей
      */
     @TaskAction
     public void checkSnapshotsDependencies() {
-        boolean isForceRelease = getProject().hasProperty(FORCE_FLAG)
-                && Boolean.parseBoolean(getProject().findProperty(FORCE_FLAG).toString());
-
-        if (isForceRelease) {
-            getProject().getLogger().lifecycle("Snapshot dependencies are allowed. SKIPPED");
+        if (snapshotsAllowed.get()) {
+            getLogger().lifecycle("Snapshot dependencies are allowed. SKIPPED");
             return;
         }
 
         checkBuildscript();
-        checkDependencies(getProject().getConfigurations());
+        checkDependencies(snapshotDependencies.get());
     }
 
     private void checkBuildscript() {
-        ScriptHandler buildscript = getProject().getBuildscript();
-
-        Set<String> buildScriptSnapshotRepositories = buildscript.getRepositories().stream()
-                .filter(repository -> repository instanceof MavenArtifactRepository)
-                .map(r -> ((MavenArtifactRepository) r).getUrl().toString())
-                .filter(this::isSnapshotRepository)
-                .collect(Collectors.toSet());
+        Set<String> buildScriptSnapshotRepositories = buildscriptSnapshotRepositories.get();
 
         if (!buildScriptSnapshotRepositories.isEmpty()) {
             throw new IllegalStateException("You have the following SNAPSHOT repositories:" + System.lineSeparator()
                     + buildScriptSnapshotRepositories);
         }
 
-        checkDependencies(buildscript.getConfigurations());
+        checkDependencies(buildscriptSnapshotDependencies.get());
     }
 
-    private void checkDependencies(Collection<Configuration> configurationContainer) {
-        Set<String> snapshotPackages = configurationContainer.stream()
-                .flatMap(configuration -> configuration.getAllDependencies().stream())
-                .filter(this::isSnapshotDependencies)
-                .map(dependency -> String.format("%s:%s:%s",
-                        dependency.getGroup(), dependency.getName(), dependency.getVersion()))
-                .collect(Collectors.toSet());
-
+    private static void checkDependencies(Set<String> snapshotPackages) {
         if (!snapshotPackages.isEmpty()) {
             throw new IllegalStateException("You have the following SNAPSHOT dependencies:" + System.lineSeparator()
                     + snapshotPackages);
         }
     }
 
-    private boolean isSnapshotRepository(String repository) {
+    private static Set<String> findSnapshotRepositories(ScriptHandler buildscript) {
+        return buildscript.getRepositories().stream()
+                .filter(repository -> repository instanceof MavenArtifactRepository)
+                .map(r -> ((MavenArtifactRepository) r).getUrl().toString())
+                .filter(CheckSnapshotsDependenciesTask::isSnapshotRepository)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> findSnapshotDependencies(Collection<Configuration> configurationContainer) {
+        return configurationContainer.stream()
+                .flatMap(configuration -> configuration.getAllDependencies().stream())
+                .filter(CheckSnapshotsDependenciesTask::isSnapshotDependencies)
+                .map(dependency -> String.format("%s:%s:%s",
+                        dependency.getGroup(), dependency.getName(), dependency.getVersion()))
+                .collect(Collectors.toSet());
+    }
+
+    private static boolean isSnapshotRepository(String repository) {
         return SNAPSHOT_REPOSITORY_PATTERN.matcher(repository).matches();
     }
 
-    private boolean isSnapshotDependencies(Dependency dependency) {
+    private static boolean isSnapshotDependencies(Dependency dependency) {
         String version = dependency.getVersion();
         if (version == null) {
             return false;
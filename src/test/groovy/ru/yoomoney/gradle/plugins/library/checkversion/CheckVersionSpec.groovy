@@ -215,4 +215,205 @@ class CheckVersionSpec extends AbstractPluginSpec {
         then:
         result.standardError.contains("There is major version conflict for dependency=joda-time:joda-time")
     }
+
+    def "Found conflict in check task mode"() {
+
+        given:
+        buildFile << """
+                dependencies {
+                implementation 'joda-time:joda-time:1.6.2',
+                        'joda-time:joda-time:+'
+
+               }
+               majorVersionChecker {
+                    checkInTask = true
+                    failBuild = false
+               }
+
+                """.stripIndent()
+        when:
+        def result = runTasksSuccessfully("checkMajorVersionConflicts")
+
+        then:
+        result.standardError.contains("There is major version conflict for dependency=joda-time:joda-time")
+        file("build/report/dependencies/major_version_conflicts.txt").text.contains("joda-time:joda-time")
+    }
+
+    def "Fail check task on conflict"() {
+
+        given:
+        buildFile << """
+                dependencies {
+                implementation 'org.apache.tomcat.embed:tomcat-embed-core:10.0.0',
+                        'org.apache.tomcat.embed:tomcat-embed-core:9.0.10'
+
+               }
+               majorVersionChecker {
+                    checkInTask = true
+               }
+
+                """.stripIndent()
+        when:
+        def result = runTasksWithFailure("check")
+
+        then:
+        result.standardError.contains("There is major version conflict for dependency=org.apache.tomcat.embed:tomcat-embed-core")
+    }
+
+    def "Found cross-project conflict"() {
+
+        given:
+        def subprojectBuildFile = { String version ->
+            """
+            repositories {
+                mavenCentral()
+            }
+            apply plugin: 'java'
+            apply plugin: 'io.spring.dependency-management'
+            apply plugin: 'ru.yoomoney.gradle.plugins.check-dependencies-plugin'
+
+            dependencies {
+                implementation 'joda-time:joda-time:$version'
+            }
+            majorVersionChecker {
+                failBuild = false
+            }
+            """.stripIndent()
+        }
+        addSubproject('first', subprojectBuildFile('1.6.2'))
+        addSubproject('second', subprojectBuildFile('2.10.9'))
+        buildFile << """
+            checkCrossProjectMajorVersionConflicts {
+                failBuild = false
+            }
+            """.stripIndent()
+
+        when:
+        def result = runTasksSuccessfully("checkCrossProjectMajorVersionConflicts")
+
+        then:
+        result.wasExecuted(":first:collectRequestedLibraryVersions")
+        result.wasExecuted(":second:collectRequestedLibraryVersions")
+        result.standardError.contains("There is cross-project major version conflict for dependency=joda-time:joda-time")
+        result.standardError.contains(":first")
+        result.standardError.contains(":second")
+        file("first/build/check-dependencies/requested-versions.txt").readLines() ==
+                ["project=:first", "joda-time:joda-time:1.6.2"]
+    }
+
+    def "Cross-project check is configured in root project and fails build by default"() {
+
+        given:
+        def subprojectBuildFile = { String jodaTimeVersion, String tomcatVersion ->
+            """
+            repositories {
+                mavenCentral()
+            }
+            apply plugin: 'java'
+            apply plugin: 'io.spring.dependency-management'
+            apply plugin: 'ru.yoomoney.gradle.plugins.check-dependencies-plugin'
+
+            dependencies {
+                implementation 'joda-time:joda-time:$jodaTimeVersion',
+                        'org.apache.tomcat.embed:tomcat-embed-core:$tomcatVersion'
+            }
+            majorVersionChecker {
+                excludeDependencies = ['org.apache.tomcat.embed:tomcat-embed-core']
+            }
+            """.stripIndent()
+        }
+        addSubproject('first', subprojectBuildFile('1.6.2', '9.0.10'))
+        addSubproject('second', subprojectBuildFile('2.10.9', '10.0.0'))
+        buildFile << """
+            checkCrossProjectMajorVersionConflicts {
+                excludeDependencies = ['joda-time:joda-time']
+            }
+            """.stripIndent()
+
+        when:
+        def result = runTasksWithFailure("checkCrossProjectMajorVersionConflicts")
+
+        then:
+        result.standardError.contains(
+                "There is cross-project major version conflict for dependency=org.apache.tomcat.embed:tomcat-embed-core")
+        !result.standardError.contains("There is cross-project major version conflict for dependency=joda-time:joda-time")
+    }
+
+    def "Found conflict in dependencies of evicted version by dependency resolution rules"() {
+
+        given:
+        buildFile << evictedVersionConflictBuildFile(false)
+
+        when:
+        def result = runTasksSuccessfully("dependencies", "--configuration", "compileClasspath")
+
+        then:
+        result.standardError.contains("There is major version conflict for dependency=test:delta")
+    }
+
+    def "Not found conflict in dependencies of evicted version in check task mode"() {
+
+        given:
+        buildFile << evictedVersionConflictBuildFile(true)
+
+        when:
+        def result = runTasksSuccessfully("checkMajorVersionConflicts")
+
+        then: "test:alpha:1.0.0 вытеснена версией 1.1.0, ее зависимость test:delta:1.0.0 не попадает в результат разрешения"
+        !result.standardError.contains("There is major version conflict for dependency=test:delta")
+        file("build/report/dependencies/major_version_conflicts.txt").text.isEmpty()
+    }
+
+    private String evictedVersionConflictBuildFile(boolean checkInTask) {
+        """
+            repositories {
+                maven { url '${createMavenRepository().toURI()}' }
+            }
+
+            dependencies {
+                implementation 'test:alpha:1.0.0',
+                        'test:beta:1.0.0',
+                        'test:delta:2.0.0'
+            }
+            majorVersionChecker {
+                checkInTask = $checkInTask
+                failBuild = false
+            }
+            """.stripIndent()
+    }
+
+    /**
+     * Создает maven-репозиторий, в котором test:alpha:1.0.0 зависит от test:delta:1.0.0,
+     * а test:beta:1.0.0 зависит от test:alpha:1.1.0 без зависимостей
+     */
+    private File createMavenRepository() {
+        createPom('alpha', '1.0.0', 'delta:1.0.0')
+        createPom('alpha', '1.1.0')
+        createPom('beta', '1.0.0', 'alpha:1.1.0')
+        createPom('delta', '1.0.0')
+        createPom('delta', '2.0.0')
+        return new File(projectDir, 'repository')
+    }
+
+    private void createPom(String name, String version, String... dependencies) {
+        def versionDir = new File(projectDir, "repository/test/$name/$version")
+        versionDir.mkdirs()
+        def dependenciesXml = dependencies.collect {
+            def (dependencyName, dependencyVersion) = it.tokenize(':')
+            """<dependency>
+                <groupId>test</groupId>
+                <artifactId>$dependencyName</artifactId>
+                <version>$dependencyVersion</version>
+            </dependency>"""
+        }.join('\n')
+        new File(versionDir, "$name-${version}.pom").text = """<?xml version="1.0" encoding="UTF-8"?>
+            <project xmlns="http://maven.apache.org/POM/4.0.0">
+                <modelVersion>4.0.0</modelVersion>
+                <groupId>test</groupId>
+                <artifactId>$name</artifactId>
+                <version>$version</version>
+                <dependencies>$dependenciesXml</dependencies>
+            </project>""".stripIndent()
+        new File(versionDir, "$name-${version}.jar").bytes = new byte[0]
+    }
 }
@@ -357,4 +357,145 @@ class CheckDependenciesPluginSpec extends AbstractPluginSpec {
         result.success
         result.standardOutput.contains("[ConflictedLibraryInfo{library=test:alpha, version='4.1.0', fixedVersion='5.1.0}]")
     }
+
+    def 'should write conflicts report and skip check when dependencies are not changed'() {
+        given:
+        buildFile << """
+            repositories {
+                maven { url '$TestRepositories.MAVEN_REPO_1' }
+            }
+
+            dependencyManagement {
+                overriddenByDependencies = false
+
+                dependencies {
+                    dependency 'test:alpha:5.1.0'
+                }
+            }
+
+            dependencies {
+                implementation 'test:beta:4.1.0'
+            }
+        """
+
+        when:
+        def firstResult = runTasksSuccessfully(CheckDependenciesPlugin.CHECK_DEPENDENCIES_TASK_NAME)
+        def secondResult = runTasksSuccessfully(CheckDependenciesPlugin.CHECK_DEPENDENCIES_TASK_NAME)
+
+        then:
+        firstResult.wasExecuted(CheckDependenciesPlugin.CHECK_DEPENDENCIES_TASK_NAME)
+        secondResult.wasUpToDate(CheckDependenciesPlugin.CHECK_DEPENDENCIES_TASK_NAME)
+        file("build/report/dependencies/library_conflicts.txt").text
+                .contains("conflict=test:alpha, version=4.1.0, fixedVersion=5.1.0")
+    }
+
+    def 'should report conflicts for every configuration with the same dependencies graph'() {
+        given:
+        buildFile << """
+            repositories {
+                maven { url '$TestRepositories.MAVEN_REPO_1' }
+            }
+
+            dependencyManagement {
+                overriddenByDependencies = false
+
+                dependencies {
+                    dependency 'test:alpha:5.1.0'
+                }
+            }
+
+            checkDependencies {
+                includedConfigurations = ["compileClasspath", "runtimeClasspath"]
+            }
+
+            dependencies {
+                implementation 'test:beta:4.1.0'
+            }
+        """
+
+        when:
+        def result = runTasksSuccessfully(CheckDependenciesPlugin.CHECK_DEPENDENCIES_TASK_NAME)
+
+        then:
+        result.wasExecuted(CheckDependenciesPlugin.CHECK_DEPENDENCIES_TASK_NAME)
+        def report = file("build/report/dependencies/library_conflicts.txt").text
+        report.contains("configuration=compileClasspath, conflict=test:alpha, version=4.1.0, fixedVersion=5.1.0")
+        report.contains("configuration=runtimeClasspath, conflict=test:alpha, version=4.1.0, fixedVersion=5.1.0")
+    }
+
+    def 'should report conflicts and reuse configuration cache'() {
+        given:
+        buildFile << """
+            repositories {
+                maven { url '$TestRepositories.MAVEN_REPO_1' }
+            }
+
+            dependencyManagement {
+                overriddenByDependencies = false
+
+                dependencies {
+                    dependency 'test:alpha:5.1.0'
+                }
+            }
+
+            dependencies {
+                implementation 'test:beta:4.1.0'
+            }
+        """
+
+        when:
+        def firstResult = runTasksSuccessfully(CheckDependenciesPlugin.CHECK_DEPENDENCIES_TASK_NAME, '--configuration-cache')
+        def firstReport = file("build/report/dependencies/library_conflicts.txt").text
+        def secondResult = runTasksSuccessfully(CheckDependenciesPlugin.CHECK_DEPENDENCIES_TASK_NAME, '--configuration-cache')
+
+        then:
+        firstResult.wasExecuted(CheckDependenciesPlugin.CHECK_DEPENDENCIES_TASK_NAME)
+        firstResult.standardOutput.contains("Configuration cache entry stored")
+        firstReport.contains("conflict=test:alpha, version=4.1.0, fixedVersion=5.1.0")
+
+        secondResult.standardOutput.contains("Reusing configuration cache")
+        file("build/report/dependencies/library_conflicts.txt").text == firstReport
+    }
+
+    def 'should analyse again only configuration with changed dependencies'() {
+        given:
+        buildFile << """
+            repositories {
+                maven { url '$TestRepositories.MAVEN_REPO_1' }
+            }
+
+            dependencyManagement {
+                overriddenByDependencies = false
+
+                dependencies {
+                    dependency 'test:alpha:5.1.0'
+                }
+            }
+
+            checkDependencies {
+                includedConfigurations = ["compileClasspath", "testCompileClasspath"]
+            }
+
+            dependencies {
+                implementation 'test:beta:4.1.0'
+            }
+        """
+        runTasksSuccessfully(CheckDependenciesPlugin.CHECK_DEPENDENCIES_TASK_NAME)
+        buildFile << """
+            dependencies {
+                testImplementation 'test:beta:5.1.0'
+            }
+        """
+
+        when:
+        def result = runTasksSuccessfully(CheckDependenciesPlugin.CHECK_DEPENDENCIES_TASK_NAME, '--info')
+
+        then:
+        result.wasExecuted(CheckDependenciesPlugin.CHECK_DEPENDENCIES_TASK_NAME)
+        result.standardOutput.contains("reusing previous check result: configuration=compileClasspath")
+        !result.standardOutput.contains("reusing previous check result: configuration=testCompileClasspath")
+        file("build/check-dependencies/results").isDirectory()
+        file("build/report/dependencies/library_conflicts.txt").text
+                .contains("configuration=compileClasspath, conflict=test:alpha, version=4.1.0, fixedVersion=5.1.0")
+    }
 }
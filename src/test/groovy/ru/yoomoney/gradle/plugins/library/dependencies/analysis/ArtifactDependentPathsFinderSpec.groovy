@@ -23,4 +23,93 @@ class ArtifactDependentPathsFinderSpec extends Specification {
         then:
             true
     }
+
+    def 'should find paths to several artifacts in one traversal'() {
+        given: 'dependency tree with shared dependencies'
+            def d = new TestArtifact('test:d:1.0')
+            def c = new TestArtifact(new ArtifactName('test', 'c', '1.0'), Arrays.asList(d))
+            def a = new TestArtifact(new ArtifactName('test', 'a', '1.0'), Arrays.asList(c))
+            def b = new TestArtifact(new ArtifactName('test', 'b', '1.0'), Arrays.asList(c))
+            def root = new TestArtifact(new ArtifactName('test', 'root', '1.0'), Arrays.asList(a, b))
+
+        when:
+            def paths = ArtifactDependentPathsFinder.forTargets(root, [c.name, d.name] as Set).findPathsByTarget()
+
+        then:
+            paths[c.name].collect { it.toList()*.name*.libraryName*.name } == [['a', 'c'], ['b', 'c']]
+            paths[d.name].collect { it.toList()*.name*.libraryName*.name } == [['a', 'c', 'd']]
+    }
+
+    def 'should not report looping path to requested artifact'() {
+        given: 'dependency tree with loop through requested artifact'
+            def a = new TestArtifact(new ArtifactName('test', 'a', '1.1'))
+            def b = new TestArtifact(new ArtifactName('test', 'b', '1.1'), Arrays.asList(a))
+            a.dependencies.add(b)
+            def root = new TestArtifact(new ArtifactName('test', 'root', '1.0'), Arrays.asList(a))
+
+        when:
+            def paths = ArtifactDependentPathsFinder.forTargets(root, [a.name] as Set).findPathsByTarget()
+
+        then:
+            paths[a.name].size() == 1
+    }
+
+    def 'should find the same paths as separate search for each artifact'() {
+        given: 'dependency tree with shared and looping dependencies'
+            def shared = new TestArtifact('test:shared:1.0')
+            def target = new TestArtifact(new ArtifactName('test', 'target', '1.0'), Arrays.asList(shared))
+            def other = new TestArtifact(new ArtifactName('test', 'other', '1.0'), Arrays.asList(target, shared))
+            def a = new TestArtifact(new ArtifactName('test', 'a', '1.0'), Arrays.asList(target))
+            shared.dependencies.add(target)
+            shared.dependencies.add(other)
+            def root = new TestArtifact(new ArtifactName('test', 'root', '1.0'), Arrays.asList(a, shared, other))
+            def targets = [target, shared, other]
+
+        when:
+            def paths = ArtifactDependentPathsFinder.forTargets(root, targets*.name as Set).findPathsByTarget()
+
+        then:
+            targets.each { artifact ->
+                def separatePaths = new ArtifactDependentPathsFinder<>(root, { it == artifact.name }).findPaths()
+                assert paths[artifact.name]*.toList() == separatePaths*.toList()
+            }
+            paths[target.name].collect { it.toList()*.name*.libraryName*.name } ==
+                    [['a', 'target'], ['shared', 'target'], ['shared', 'other', 'target']]
+    }
+
+    def 'should find path in deep dependency tree'() {
+        given: 'long chain of dependencies'
+            def root = new TestArtifact('test:root:1.0')
+            def last = root
+            10000.times {
+                def next = new TestArtifact(new ArtifactName('test', "lib$it", '1.0'))
+                last.dependencies.add(next)
+                last = next
+            }
+            def target = last
+
+        when:
+            def paths = new ArtifactDependentPathsFinder<>(root, { it == target.name }).findPaths()
+
+        then:
+            paths.size() == 1
+            paths[0].toList().size() == 10000
+            paths[0].targetDependency == target
+    }
+
+    def 'should keep only first found paths to requested artifact ordered by length'() {
+        given: 'artifact reachable through paths of different length'
+            def target = new TestArtifact('test:target:1.0')
+            def c = new TestArtifact(new ArtifactName('test', 'c', '1.0'), Arrays.asList(target))
+            def b = new TestArtifact(new ArtifactName('test', 'b', '1.0'), Arrays.asList(c))
+            def a = new TestArtifact(new ArtifactName('test', 'a', '1.0'), Arrays.asList(b))
+            def d = new TestArtifact(new ArtifactName('test', 'd', '1.0'), Arrays.asList(target))
+            def root = new TestArtifact(new ArtifactName('test', 'root', '1.0'), Arrays.asList(a, d, target))
+
+        when:
+            def paths = ArtifactDependentPathsFinder.forTargets(root, [target.name] as Set).findFirstPathsByTarget(2)
+
+        then:
+            paths[target.name].collect { it.toList()*.name*.libraryName*.name } == [['d', 'target'], ['a', 'b', 'c', 'target']]
+    }
 }
@@ -0,0 +1,144 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.analysis
+
+import org.gradle.api.artifacts.ModuleVersionIdentifier
+import org.gradle.api.artifacts.component.ComponentIdentifier
+import org.gradle.api.artifacts.component.ModuleComponentSelector
+import org.gradle.api.artifacts.result.ResolvedComponentResult
+import org.gradle.api.artifacts.result.ResolvedDependencyResult
+import org.gradle.api.artifacts.result.UnresolvedDependencyResult
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactDependency
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactDependent
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.ArtifactName
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool
+import spock.lang.Specification
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+class DependencyGraphSpec extends Specification {
+
+    def 'should store component shared by several parents once'() {
+        given:
+        def common = component('org.test', 'common', '1.0')
+        def left = component('org.test', 'left', '1.0', [resolved('org.test', 'common', '1.0', common)])
+        def right = component('org.test', 'right', '1.0', [resolved('org.test', 'common', '1.0', common)])
+        def root = component('org.test', 'root', '1.0', [
+                resolved('org.test', 'left', '1.0', left),
+                resolved('org.test', 'right', '1.0', right)])
+
+        when:
+        def graph = DependencyGraph.of(root, new NamePool())
+
+        then:
+        graph.size() == 3
+        def rootDependencies = graph.rootDependencies()
+        rootDependencies.collect { format(it) } == ['org.test:left:1.0 -> org.test:left:1.0',
+                                                    'org.test:right:1.0 -> org.test:right:1.0']
+        rootDependencies[0].dependencies.size() == 1
+        rootDependencies[0].dependencies[0].is(rootDependencies[1].dependencies[0])
+    }
+
+    def 'should keep requested name of unresolved dependency as selected'() {
+        given:
+        def root = component('org.test', 'root', '1.0', [unresolved('org.test', 'missing', '2.0')])
+
+        when:
+        def graph = DependencyGraph.of(root, new NamePool())
+
+        then:
+        graph.size() == 1
+        def missing = graph.rootDependencies()[0]
+        missing.requestedArtifactName == new ArtifactName('org.test', 'missing', '2.0')
+        missing.selectedArtifactName == missing.requestedArtifactName
+        missing.dependencies.isEmpty()
+    }
+
+    def 'should find the same paths in graph restored from snapshot'() {
+        given:
+        def common2 = component('org.test', 'common', '2.0')
+        def left = component('org.test', 'left', '1.0', [resolved('org.test', 'common', '1.0', common2)])
+        def right = component('org.test', 'right', '1.0', [
+                resolved('org.test', 'left', '1.0', left),
+                resolved('org.test', 'common', '2.0', common2)])
+        def root = component('org.test', 'root', '1.0', [
+                resolved('org.test', 'left', '1.0', left),
+                resolved('org.test', 'right', '1.0', right),
+                unresolved('org.test', 'missing', '1.0')])
+        def graph = DependencyGraph.of(root, new NamePool())
+        def targets = [new ArtifactName('org.test', 'common', '1.0'), new ArtifactName('org.test', 'missing', '1.0')] as Set
+
+        when:
+        def bytes = new ByteArrayOutputStream()
+        new ObjectOutputStream(bytes).withCloseable { it.writeObject(graph.snapshot()) }
+        def snapshot = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))
+                .withCloseable { it.readObject() } as DependencyGraph.Snapshot
+        def restoredGraph = DependencyGraph.fromSnapshot(snapshot, new NamePool())
+
+        then:
+        restoredGraph.size() == graph.size()
+        restoredGraph.allDependencies().collect { format(it) } == graph.allDependencies().collect { format(it) }
+        paths(restoredGraph, targets) == paths(graph, targets)
+        paths(graph, targets) == [
+                'org.test:common:1.0': [['org.test:left:1.0', 'org.test:common:1.0']],
+                'org.test:missing:1.0': [['org.test:missing:1.0']]]
+    }
+
+    private static Map<String, List<List<String>>> paths(DependencyGraph graph, Set<ArtifactName> targets) {
+        ArtifactDependent<ArtifactDependency> root = { graph.rootDependencies() } as ArtifactDependent<ArtifactDependency>
+        def pathsByTarget = ArtifactDependentPathsFinder.forTargets(root, targets).findPathsByTarget()
+        return pathsByTarget.collectEntries { name, paths ->
+            [format(name), paths.collect { path -> path.collect { format(it.name) } }]
+        } as Map<String, List<List<String>>>
+    }
+
+    private static String format(ArtifactDependency dependency) {
+        return "${format(dependency.requestedArtifactName)} -> ${format(dependency.selectedArtifactName)}"
+    }
+
+    private static String format(ArtifactName name) {
+        return "${name.libraryName}:${name.version}"
+    }
+
+    private ResolvedComponentResult component(String group, String name, String version,
+                                              List<?> dependencies = []) {
+        def moduleVersion = Stub(ModuleVersionIdentifier) {
+            getGroup() >> group
+            getName() >> name
+            getVersion() >> version
+        }
+        def id = Stub(ComponentIdentifier) {
+            getDisplayName() >> "$group:$name:$version"
+        }
+        return Stub(ResolvedComponentResult) {
+            getId() >> id
+            getModuleVersion() >> moduleVersion
+            getDependencies() >> (dependencies as LinkedHashSet)
+        }
+    }
+
+    private ResolvedDependencyResult resolved(String group, String name, String version,
+                                              ResolvedComponentResult selected) {
+        def selector = selector(group, name, version)
+        return Stub(ResolvedDependencyResult) {
+            getRequested() >> selector
+            getSelected() >> selected
+        }
+    }
+
+    private UnresolvedDependencyResult unresolved(String group, String name, String version) {
+        def selector = selector(group, name, version)
+        return Stub(UnresolvedDependencyResult) {
+            getRequested() >> selector
+            getAttempted() >> selector
+        }
+    }
+
+    private ModuleComponentSelector selector(String group, String name, String version) {
+        return Stub(ModuleComponentSelector) {
+            getGroup() >> group
+            getModule() >> name
+            getVersion() >> version
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.analysis
+
+import io.spring.gradle.dependencymanagement.dsl.DependencyManagementExtension
+import org.gradle.testfixtures.ProjectBuilder
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePool
+import spock.lang.Specification
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+class FixedDependenciesSpec extends Specification {
+
+    def 'should load managed versions of all configurations once on first access'() {
+        given:
+        def project = ProjectBuilder.builder().build()
+        project.pluginManager.apply('java')
+        def dependencyManagement = Mock(DependencyManagementExtension)
+        project.extensions.add(DependencyManagementExtension, 'dependencyManagement', dependencyManagement)
+        def compileClasspath = project.configurations.compileClasspath
+        def runtimeClasspath = project.configurations.runtimeClasspath
+        def managedVersions = FixedDependencies.provideManagedVersions(project, [compileClasspath, runtimeClasspath])
+
+        when:
+        def loadedVersions = managedVersions.get()
+
+        then:
+        1 * dependencyManagement.getManagedVersionsForConfigurationHierarchy(compileClasspath) >>
+                ['org.slf4j:slf4j-api': '1.7.21']
+        1 * dependencyManagement.getManagedVersionsForConfigurationHierarchy(runtimeClasspath) >> [:]
+        loadedVersions == [compileClasspath: ['org.slf4j:slf4j-api': '1.7.21'], runtimeClasspath: [:]]
+
+        when:
+        def reloadedVersions = managedVersions.get()
+
+        then:
+        0 * dependencyManagement._
+        reloadedVersions.is(loadedVersions)
+    }
+
+    def 'should return managed artifacts of loaded configuration'() {
+        given:
+        def fixedDependencies = FixedDependencies.from(
+                [compileClasspath: ['org.slf4j:slf4j-api': '1.7.21'], runtimeClasspath: [:]], new NamePool())
+
+        expect:
+        fixedDependencies.forConfiguration('compileClasspath')
+                .getVersions(new LibraryName('org.slf4j', 'slf4j-api')) == ['1.7.21'] as Set
+        !fixedDependencies.forConfiguration('runtimeClasspath').contains(new LibraryName('org.slf4j', 'slf4j-api'))
+    }
+
+    def 'should fail on configuration whose managed versions were not loaded'() {
+        given:
+        def fixedDependencies = FixedDependencies.from([compileClasspath: ['org.slf4j:slf4j-api': '1.7.21']],
+                new NamePool())
+
+        when:
+        fixedDependencies.forConfiguration('testCompileClasspath')
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message.contains('testCompileClasspath')
+    }
+}
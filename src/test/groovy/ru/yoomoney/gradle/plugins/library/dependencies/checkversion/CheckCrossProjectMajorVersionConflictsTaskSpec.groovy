@@ -0,0 +1,85 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.checkversion
+
+import org.gradle.api.GradleException
+import org.gradle.testfixtures.ProjectBuilder
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.NamePoolService
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+class CheckCrossProjectMajorVersionConflictsTaskSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def 'should find conflicts in requested versions files of projects'() {
+        given:
+        def task = createTask(
+                requestedVersions(':first', ['joda-time:joda-time:1.6.2', 'org.slf4j:slf4j-api:1.7.21']),
+                requestedVersions(':second', ['joda-time:joda-time:2.10.9', 'org.slf4j:slf4j-api:1.7.30']))
+        task.failBuild = false
+
+        when:
+        task.checkCrossProjectMajorVersionConflicts()
+
+        then:
+        task.reportFile.readLines() == ['There is cross-project major version conflict for dependency=joda-time:joda-time, ' +
+                                                'projects={1=[:first], 2=[:second]}']
+    }
+
+    def 'should skip excluded and not included libraries'() {
+        given:
+        def task = createTask(
+                requestedVersions(':first', ['joda-time:joda-time:1.6.2', 'org.apache.tomcat:tomcat-catalina:9.0.10',
+                                             'org.apache.tomcat.embed:tomcat-embed-core:9.0.10']),
+                requestedVersions(':second', ['joda-time:joda-time:2.10.9', 'org.apache.tomcat:tomcat-catalina:10.0.0',
+                                              'org.apache.tomcat.embed:tomcat-embed-core:10.0.0']))
+        task.includeGroupIdPrefixes = ['org.apache'] as Set
+        task.excludeDependencies = ['org.apache.tomcat:tomcat-catalina'] as Set
+
+        when:
+        task.checkCrossProjectMajorVersionConflicts()
+
+        then:
+        def e = thrown(GradleException)
+        e.message.contains(task.reportFile.toString())
+        task.reportFile.readLines() == ['There is cross-project major version conflict for ' +
+                                                'dependency=org.apache.tomcat.embed:tomcat-embed-core, ' +
+                                                'projects={10=[:second], 9=[:first]}']
+    }
+
+    def 'should read requested versions written by project'() {
+        given:
+        def file = tempDir.resolve('requested-versions.txt').toFile()
+        new ProjectRequestedVersions(':first', ['joda-time:joda-time:1.6.2']).write(file)
+
+        when:
+        def projectVersions = ProjectRequestedVersions.read(file)
+
+        then:
+        projectVersions.projectPath == ':first'
+        projectVersions.versions == ['joda-time:joda-time:1.6.2']
+    }
+
+    private CheckCrossProjectMajorVersionConflictsTask createTask(File... requestedVersionsFiles) {
+        def project = ProjectBuilder.builder().withProjectDir(tempDir.resolve('project').toFile()).build()
+        def namePoolService = project.gradle.sharedServices.registerIfAbsent('namePool', NamePoolService) {}
+        def task = project.tasks.create('checkCrossProjectMajorVersionConflicts',
+                CheckCrossProjectMajorVersionConflictsTask)
+        task.requestedVersionsFiles = project.files(requestedVersionsFiles)
+        task.reportFile = tempDir.resolve('report.txt').toFile()
+        task.namePoolService = namePoolService
+        task
+    }
+
+    private File requestedVersions(String projectPath, List<String> versions) {
+        def file = tempDir.resolve("${projectPath.substring(1)}.txt").toFile()
+        new ProjectRequestedVersions(projectPath, versions).write(file)
+        file
+    }
+}
@@ -0,0 +1,72 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.checkversion
+
+import ru.yoomoney.gradle.plugins.library.dependencies.dsl.LibraryName
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+class MajorVersionConflictsSpec extends Specification {
+
+    def "find conflict of different major versions"() {
+        given:
+        def conflicts = new MajorVersionConflicts()
+        def libraryName = new LibraryName('joda-time', 'joda-time')
+
+        when:
+        conflicts.register(libraryName, '1.6.2', '1')
+        conflicts.register(libraryName, '1.6.3', '1')
+
+        then:
+        conflicts.getConflictVersions(libraryName) == null
+
+        when:
+        conflicts.register(libraryName, '2.10.9', '2')
+
+        then:
+        conflicts.getConflictVersions(libraryName) == ['2.10.9', '1'] as Set
+    }
+
+    def "register versions concurrently without lost conflicts"() {
+        given:
+        def conflicts = new MajorVersionConflicts()
+        def threads = 16
+        def libraries = (1..200).collect { new LibraryName('group', "library-$it") }
+        def executor = Executors.newFixedThreadPool(threads)
+        def start = new CountDownLatch(1)
+
+        when:
+        def futures = (0..<threads).collect { thread ->
+            executor.submit {
+                start.await()
+                libraries.each { library ->
+                    def major = String.valueOf(thread % 2 + 1)
+                    conflicts.register(library, "${major}.${thread}.0", major)
+                    conflicts.getConflictVersions(library)
+                }
+            }
+        }
+        start.countDown()
+        futures.each { it.get(30, TimeUnit.SECONDS) }
+        executor.shutdown()
+
+        then:
+        conflicts.getConflicts().keySet() == libraries as Set
+        libraries.every { library ->
+            def versions = conflicts.getConflictVersions(library)
+            // Мажорная версия, зарегистрированная первой, зависит от порядка потоков,
+            // остальные потоки должны записать в конфликт каждую свою версию
+            def firstMajor = versions.contains('1') ? '1' : '2'
+            def expectedVersions = (0..<threads)
+                    .findAll { thread -> String.valueOf(thread % 2 + 1) != firstMajor }
+                    .collect { thread -> "${thread % 2 + 1}.${thread}.0".toString() } as Set
+            expectedVersions << firstMajor
+            versions == expectedVersions
+        }
+    }
+}
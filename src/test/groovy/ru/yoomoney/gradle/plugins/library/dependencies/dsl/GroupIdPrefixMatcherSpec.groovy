@@ -0,0 +1,50 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.dsl
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+class GroupIdPrefixMatcherSpec extends Specification {
+
+    @Unroll
+    def "match group #group with prefixes #prefixes"() {
+        expect:
+        GroupIdPrefixMatcher.of(prefixes).matches(group) == expected
+
+        where:
+        prefixes                       | group                 | expected
+        []                             | 'org.apache'          | true
+        []                             | null                  | true
+        ['org.apache']                 | null                  | false
+        ['org.apache']                 | 'org.apache.tomcat'   | true
+        ['org.apache']                 | 'org.apachecommons'   | true
+        ['org.apache']                 | 'org.apach'           | false
+        ['org.apache', 'joda-time']    | 'joda-time'           | true
+        ['org.apache.tomcat', 'org']   | 'org.springframework' | true
+        ['ru.yoomoney']                | 'ru.yandex'           | false
+        ['']                           | 'any.group'           | true
+    }
+
+    def "match the same groups as startsWith for many prefixes"() {
+        given:
+        def random = new Random(42)
+        def prefixes = (1..500).collect { randomGroup(random) }.toSet()
+        def groups = (1..20000).collect { randomGroup(random) }
+        def matcher = GroupIdPrefixMatcher.of(prefixes)
+
+        expect:
+        groups.every { group ->
+            matcher.matches(group) == prefixes.any { group.startsWith(it) }
+        }
+    }
+
+    private static String randomGroup(Random random) {
+        def segments = ['org', 'com', 'ru', 'apache', 'yoomoney', 'spring', 'io', 'a', 'b']
+        (1..(1 + random.nextInt(4)))
+                .collect { segments[random.nextInt(segments.size())] }
+                .join('.')
+    }
+}
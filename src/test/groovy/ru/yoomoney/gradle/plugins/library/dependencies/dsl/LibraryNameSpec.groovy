@@ -19,13 +19,21 @@ class LibraryNameSpec extends Specification {
     }
 
     def 'fail to parse incorrectly formatted name'() {
-        given:
-        def library = 'incorrect-name'
-
         when:
         LibraryName.parse(library)
 
         then:
         thrown IllegalArgumentException
+
+        where:
+        library << ['incorrect-name', ':spring-boot', 'org.springframework.boot:']
+    }
+
+    def 'parse name with separator in group'() {
+        when:
+        def libraryName = LibraryName.parse('org.springframework:boot:spring-boot')
+
+        then:
+        libraryName.group == 'org.springframework:boot' && libraryName.name == 'spring-boot'
     }
 }
@@ -0,0 +1,33 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.dsl
+
+import spock.lang.Specification
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+class NamePoolSpec extends Specification {
+
+    def 'should return canonical instances for equal names'() {
+        given:
+        def pool = new NamePool()
+
+        expect:
+        pool.library('org.slf4j', 'slf4j-api').is(pool.library('org.slf4j', 'slf4j-api'))
+        pool.library('org.slf4j', 'slf4j-api').is(pool.parseLibrary('org.slf4j:slf4j-api'))
+        pool.artifact('org.slf4j', 'slf4j-api', '1.7.21').is(pool.artifact(new LibraryName('org.slf4j', 'slf4j-api'), '1.7.21'))
+        pool.artifact('org.slf4j', 'slf4j-api', '1.7.21').libraryName.is(pool.library('org.slf4j', 'slf4j-api'))
+    }
+
+    def 'should create names with absent parts without caching'() {
+        given:
+        def pool = new NamePool()
+
+        when:
+        def artifactName = pool.artifact(null, 'file-dependency', null)
+
+        then:
+        artifactName == new ArtifactName(new LibraryName(null, 'file-dependency'), null)
+        !artifactName.is(pool.artifact(null, 'file-dependency', null))
+    }
+}
@@ -0,0 +1,87 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.dsl
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+class VersionSpec extends Specification {
+
+    @Unroll
+    def "compare #first with #second"() {
+        expect:
+        Integer.signum(Version.parse(first).compareTo(Version.parse(second))) == expected
+
+        where:
+        first            | second           | expected
+        '1.0'            | '1.0.0'          | 0
+        '2.10.9'         | '2.9'            | 1
+        '1.0'            | '1.0-rc1'        | 1
+        '1.0.0-SNAPSHOT' | '1.0.0'          | -1
+        '1.0-ALPHA'      | '1.0-beta'       | -1
+        '1.2.3.4'        | '1.2.3.5'        | -1
+        '20230101'       | '9'              | 1
+        'unknown'        | '0.0.0'          | 0
+    }
+
+    @Unroll
+    def "compare common segments of #first and #second"() {
+        expect:
+        Integer.signum(Version.parse(first).compareCommonSegments(Version.parse(second))) == expected
+
+        where:
+        first   | second           | expected
+        '1.2'   | '1.2.5'          | 0
+        '1.2'   | '1.3.0'          | -1
+        '2.0.0' | '1.9.9'          | 1
+        '1.0.0' | '1.0.0-SNAPSHOT' | 0
+    }
+
+    def "parse segments and qualifier"() {
+        when:
+        def version = Version.parse('10.2.3.4-Final')
+
+        then:
+        version.major == 10
+        version.minor == 2
+        version.micro == 3
+        version.patch == 4
+        version.qualifier == 'Final'
+        version.majorPart == '10'
+    }
+
+    @Unroll
+    def "version #version has no numeric segments"() {
+        expect:
+        !Version.parse(version).hasNumericSegments()
+
+        where:
+        version << ['r09', '1.0a', '+', 'latest.release', '']
+    }
+
+    @Unroll
+    def "unparsable version #version is not included in range"() {
+        expect:
+        !new ArtifactWithVersionRange(LibraryName.parse('org.example:library'), '1.0', '2.0')
+                .isVersionIncludedInRange(version)
+
+        where:
+        version << ['r09', '1.0a', '+', 'latest.release']
+    }
+
+    def "fail on unparsable range version"() {
+        when:
+        new ArtifactWithVersionRange(LibraryName.parse('org.example:library'), 'latest.release', null)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.message.contains('latest.release')
+    }
+
+    def "return cached version for the same string"() {
+        expect:
+        Version.parse('3.1.4').is(Version.parse('3.1.4'))
+    }
+}
@@ -0,0 +1,92 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.metadata
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneOffset
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+class MavenMetadataCacheSpec extends Specification {
+    private static final String REPO_URL = 'https://repo.example.org/maven2/'
+    private static final String METADATA_PATH = 'org/example/lib/maven-metadata.xml'
+
+    @TempDir
+    Path cacheDir
+
+    def 'stored metadata is fresh until ttl expires'() {
+        given:
+        def cache = cacheAt(Instant.EPOCH)
+        cache.storeFound(REPO_URL, METADATA_PATH, content('<metadata/>'), '"etag"', 42L)
+
+        expect:
+        def entry = cache.find(REPO_URL, METADATA_PATH).get()
+        entry.status == MavenMetadataCache.Status.FOUND
+        entry.etag == '"etag"'
+        entry.lastModified == 42L
+        entry.openContent().text == '<metadata/>'
+        cache.isFresh(entry)
+        !cacheAt(Instant.EPOCH.plus(Duration.ofMinutes(61))).isFresh(entry)
+    }
+
+    def 'not found metadata is cached with its own ttl'() {
+        given:
+        def cache = cacheAt(Instant.EPOCH)
+        cache.storeNotFound(REPO_URL, METADATA_PATH)
+
+        expect:
+        def entry = cache.find(REPO_URL, METADATA_PATH).get()
+        entry.status == MavenMetadataCache.Status.NOT_FOUND
+        cacheAt(Instant.EPOCH.plus(Duration.ofMinutes(61))).isFresh(entry)
+        !cacheAt(Instant.EPOCH.plus(Duration.ofDays(2))).isFresh(entry)
+    }
+
+    def 'entries of different repositories do not intersect'() {
+        given:
+        def cache = cacheAt(Instant.EPOCH)
+        cache.storeNotFound(REPO_URL, METADATA_PATH)
+
+        expect:
+        !cache.find('https://other.example.org/maven2/', METADATA_PATH).isPresent()
+    }
+
+    def 'repositories with similar urls do not share entries'() {
+        given:
+        def cache = cacheAt(Instant.EPOCH)
+        cache.storeFound('https://repo.example.org/x_y/', METADATA_PATH, content('<first/>'), null, 0L)
+        cache.storeFound('https://repo.example.org/x/y/', METADATA_PATH, content('<second/>'), null, 0L)
+
+        expect:
+        cache.find('https://repo.example.org/x_y/', METADATA_PATH).get().openContent().text == '<first/>'
+        cache.find('https://repo.example.org/x/y/', METADATA_PATH).get().openContent().text == '<second/>'
+    }
+
+    def 'revalidated entry keeps its content'() {
+        given:
+        def cache = cacheAt(Instant.EPOCH)
+        def entry = cache.storeFound(REPO_URL, METADATA_PATH, content('<metadata/>'), '"etag"', 42L)
+        cacheAt(Instant.EPOCH.plus(Duration.ofMinutes(61))).markRevalidated(REPO_URL, METADATA_PATH, entry)
+
+        expect:
+        def revalidated = cacheAt(Instant.EPOCH.plus(Duration.ofMinutes(62))).find(REPO_URL, METADATA_PATH).get()
+        revalidated.etag == '"etag"'
+        revalidated.openContent().text == '<metadata/>'
+        cacheAt(Instant.EPOCH.plus(Duration.ofMinutes(62))).isFresh(revalidated)
+    }
+
+    private MavenMetadataCache cacheAt(Instant now) {
+        new MavenMetadataCache(cacheDir.toFile(), Duration.ofMinutes(60), Duration.ofDays(1),
+                Clock.fixed(now, ZoneOffset.UTC))
+    }
+
+    private static InputStream content(String text) {
+        new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))
+    }
+}
@@ -0,0 +1,97 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.metadata
+
+import ru.yoomoney.gradle.plugins.library.dependencies.utils.HttpRepositoryStub
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneOffset
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+class MavenMetadataLoaderSpec extends Specification {
+    private static final String METADATA_PATH = 'org/example/lib/maven-metadata.xml'
+    private static final String LAST_MODIFIED = 'Wed, 21 Oct 2015 07:28:00 GMT'
+
+    @TempDir
+    Path cacheDir
+
+    HttpRepositoryStub repository = new HttpRepositoryStub()
+
+    def cleanup() {
+        repository.close()
+    }
+
+    def 'fresh cached metadata is read without request to repository'() {
+        given:
+        repository.metadata(METADATA_PATH, ['1.0'])
+
+        expect:
+        loaderAt(Instant.EPOCH).load(repository.url, METADATA_PATH, MavenMetadataParser::parseVersions) ==
+                Optional.of(['1.0'])
+        loaderAt(Instant.EPOCH.plus(Duration.ofMinutes(30)))
+                .load(repository.url, METADATA_PATH, MavenMetadataParser::parseVersions) == Optional.of(['1.0'])
+        repository.requestCount(METADATA_PATH) == 1
+    }
+
+    def 'expired metadata is revalidated with conditional request'() {
+        given:
+        repository.metadata(METADATA_PATH, ['1.0'], ['ETag': '"v1"', 'Last-Modified': LAST_MODIFIED])
+                .status(METADATA_PATH, 304)
+        loaderAt(Instant.EPOCH).load(repository.url, METADATA_PATH, MavenMetadataParser::parseVersions)
+
+        when:
+        def found = loaderAt(Instant.EPOCH.plus(Duration.ofMinutes(61)))
+                .load(repository.url, METADATA_PATH, MavenMetadataParser::parseVersions)
+
+        then:
+        found == Optional.of(['1.0'])
+        repository.requestCount(METADATA_PATH) == 2
+        def conditionalRequest = repository.requestHeaders[1]
+        conditionalRequest['if-none-match'] == '"v1"'
+        conditionalRequest['if-modified-since'] == LAST_MODIFIED
+
+        and: 'revalidated metadata is fresh again'
+        loaderAt(Instant.EPOCH.plus(Duration.ofMinutes(90)))
+                .load(repository.url, METADATA_PATH, MavenMetadataParser::parseVersions) == Optional.of(['1.0'])
+        repository.requestCount(METADATA_PATH) == 2
+    }
+
+    def 'expired metadata is read from cache in offline mode'() {
+        given:
+        repository.metadata(METADATA_PATH, ['1.0'])
+        loaderAt(Instant.EPOCH).load(repository.url, METADATA_PATH, MavenMetadataParser::parseVersions)
+
+        when:
+        def found = loaderAt(Instant.EPOCH.plus(Duration.ofDays(30)), true)
+                .load(repository.url, METADATA_PATH, MavenMetadataParser::parseVersions)
+
+        then:
+        found == Optional.of(['1.0'])
+        repository.requestCount(METADATA_PATH) == 1
+    }
+
+    def 'metadata missing in cache is not requested in offline mode'() {
+        given:
+        repository.metadata(METADATA_PATH, ['1.0'])
+
+        when:
+        loaderAt(Instant.EPOCH, true).load(repository.url, METADATA_PATH, MavenMetadataParser::parseVersions)
+
+        then:
+        def e = thrown(MetadataNotCachedException)
+        e.message.contains(repository.url + METADATA_PATH)
+        repository.totalRequestCount() == 0
+    }
+
+    private MavenMetadataLoader loaderAt(Instant now, boolean offline = false) {
+        def cache = new MavenMetadataCache(cacheDir.toFile(), Duration.ofMinutes(60), Duration.ofDays(1),
+                Clock.fixed(now, ZoneOffset.UTC))
+        new MavenMetadataLoader(cache, Duration.ofSeconds(5), Duration.ofSeconds(30), offline)
+    }
+}
@@ -0,0 +1,44 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.metadata
+
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+class MavenMetadataParserSpec extends Specification {
+
+    def 'parse versions from maven-metadata.xml'() {
+        given:
+        def metadata = '''<?xml version="1.0" encoding="UTF-8"?>
+            <metadata>
+                <groupId>test</groupId>
+                <artifactId>alpha</artifactId>
+                <versioning>
+                    <latest>2.1.0</latest>
+                    <release>2.1.0</release>
+                    <versions>
+                        <version>1.1.0</version>
+                        <version>2.1.0</version>
+                    </versions>
+                    <lastUpdated>20181210000000</lastUpdated>
+                </versioning>
+            </metadata>'''
+
+        when:
+        def versions = MavenMetadataParser.parseVersions(new ByteArrayInputStream(metadata.getBytes(StandardCharsets.UTF_8)))
+
+        then:
+        versions == ['1.1.0', '2.1.0']
+    }
+
+    def 'return empty list for metadata without versions'() {
+        given:
+        def metadata = '<metadata><groupId>test</groupId><artifactId>alpha</artifactId></metadata>'
+
+        expect:
+        MavenMetadataParser.parseVersions(new ByteArrayInputStream(metadata.getBytes(StandardCharsets.UTF_8))).isEmpty()
+    }
+}
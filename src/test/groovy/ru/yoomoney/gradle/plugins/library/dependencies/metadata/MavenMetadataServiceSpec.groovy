@@ -0,0 +1,173 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.metadata
+
+import org.gradle.testfixtures.ProjectBuilder
+import ru.yoomoney.gradle.plugins.library.dependencies.utils.HttpRepositoryStub
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+import java.util.concurrent.Callable
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+class MavenMetadataServiceSpec extends Specification {
+    private static final String METADATA_PATH = 'org/example/lib/maven-metadata.xml'
+
+    @TempDir
+    Path cacheDir
+
+    private final List<HttpRepositoryStub> repositories = []
+    private final List<MavenMetadataService> services = []
+
+    def cleanup() {
+        repositories.each { it.close() }
+        services.each { it.close() }
+    }
+
+    def 'failing repository is disabled and versions are found in the working one'() {
+        given:
+        def paths = (1..3).collect { "org/example/lib-$it/maven-metadata.xml".toString() }
+        def failing = repository()
+        def working = repository()
+        paths.each {
+            failing.status(it, 500)
+            working.metadata(it, ['1.0'])
+        }
+        def metadataService = service(repositoryFailureThreshold: 2)
+
+        when:
+        def found = paths.collect {
+            metadataService.findVersionsAsync([failing.url, working.url], it).get(30, TimeUnit.SECONDS)
+        }
+
+        then:
+        found == [Optional.of(['1.0'])] * 3
+        failing.totalRequestCount() == 2
+        working.totalRequestCount() == 3
+        metadataService.disabledRepositories.keySet() == [failing.url] as Set
+        metadataService.disabledRepositories[failing.url].startsWith('2 consecutive failures')
+        metadataService.disabledRepositories[failing.url].contains('code=500')
+    }
+
+    def 'concurrent lookups of the same metadata share one fetch'() {
+        given:
+        def stub = repository().blocked(METADATA_PATH, ['1.0', '2.0'])
+        def metadataService = service()
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def first = metadataService.findVersionsAsync([stub.url], METADATA_PATH)
+        stub.awaitBlockedRequest()
+        Callable<CompletableFuture<Optional<List<String>>>> lookup = {
+            metadataService.findVersionsAsync([stub.url], METADATA_PATH)
+        }
+        def concurrent = executor.invokeAll([lookup] * 8, 30, TimeUnit.SECONDS).collect { it.get() }
+        stub.release()
+
+        then:
+        ([first] + concurrent).every { it.get(30, TimeUnit.SECONDS) == Optional.of(['1.0', '2.0']) }
+        stub.requestCount(METADATA_PATH) == 1
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def 'failed fetch is forgotten and the next lookup retries it'() {
+        given:
+        def stub = repository()
+                .status(METADATA_PATH, 500)
+                .metadata(METADATA_PATH, ['1.0'])
+        def metadataService = service(repositoryFailureThreshold: 5)
+
+        expect:
+        metadataService.findVersionsAsync([stub.url], METADATA_PATH).get(30, TimeUnit.SECONDS) == Optional.empty()
+        stub.requestCount(METADATA_PATH) == 1
+        metadataService.findVersionsAsync([stub.url], METADATA_PATH).get(30, TimeUnit.SECONDS) == Optional.of(['1.0'])
+        stub.requestCount(METADATA_PATH) == 2
+        metadataService.findVersionsAsync([stub.url], METADATA_PATH).get(30, TimeUnit.SECONDS) == Optional.of(['1.0'])
+        stub.requestCount(METADATA_PATH) == 2
+    }
+
+    def 'parallel lookup merges versions in repositories order regardless of response time'() {
+        given:
+        def first = repository()
+        def second = repository()
+        firstSlow ? first.blocked(METADATA_PATH, ['1.0', '2.0']) : first.metadata(METADATA_PATH, ['1.0', '2.0'])
+        firstSlow ? second.metadata(METADATA_PATH, ['2.0', '3.0']) : second.blocked(METADATA_PATH, ['2.0', '3.0'])
+        def slow = firstSlow ? first : second
+        def metadataService = service(lookupMode: RepositoryLookupMode.PARALLEL)
+
+        when:
+        def found = metadataService.findVersionsAsync([first.url, second.url], METADATA_PATH)
+        slow.awaitBlockedRequest()
+        slow.release()
+
+        then:
+        found.get(30, TimeUnit.SECONDS) == Optional.of(['1.0', '2.0', '3.0'])
+
+        where:
+        firstSlow << [true, false]
+    }
+
+    def 'hedged lookup returns answer of the next repository when the first one does not answer'() {
+        given:
+        def hanging = repository().blocked(METADATA_PATH, ['1.0'])
+        def working = repository().metadata(METADATA_PATH, ['2.0'])
+        def metadataService = service(lookupMode: RepositoryLookupMode.HEDGED, hedgeDelayMillis: 100L)
+
+        when:
+        def found = metadataService.findVersionsAsync([hanging.url, working.url], METADATA_PATH)
+
+        then:
+        found.get(10, TimeUnit.SECONDS) == Optional.of(['2.0'])
+        hanging.requestCount(METADATA_PATH) == 1
+        working.requestCount(METADATA_PATH) == 1
+    }
+
+    def 'offline lookup skips metadata missing in cache without requests to repositories'() {
+        given:
+        def first = repository().metadata(METADATA_PATH, ['1.0'])
+        def second = repository().metadata(METADATA_PATH, ['2.0'])
+        def metadataService = service(offline: true)
+
+        when:
+        def found = metadataService.findVersionsAsync([first.url, second.url], METADATA_PATH).get(30, TimeUnit.SECONDS)
+
+        then:
+        found == Optional.empty()
+        first.totalRequestCount() == 0
+        second.totalRequestCount() == 0
+        metadataService.offline
+        metadataService.skippedLookups == [first.url + METADATA_PATH, second.url + METADATA_PATH].sort()
+    }
+
+    private HttpRepositoryStub repository() {
+        def repository = new HttpRepositoryStub()
+        repositories << repository
+        repository
+    }
+
+    private MavenMetadataService service(Map<String, Object> settings = [:]) {
+        def project = ProjectBuilder.builder().build()
+        def service = project.gradle.sharedServices.registerIfAbsent('mavenMetadata', MavenMetadataService) { spec ->
+            spec.parameters.cacheDir.set(cacheDir.toFile())
+            spec.parameters.cacheTtlMinutes.set(60L)
+            spec.parameters.notFoundCacheTtlMinutes.set(60L)
+            spec.parameters.fetchParallelism.set(4)
+            spec.parameters.lookupMode.set(
+                    settings.lookupMode as RepositoryLookupMode ?: RepositoryLookupMode.SEQUENTIAL)
+            spec.parameters.hedgeDelayMillis.set(settings.hedgeDelayMillis as Long ?: 1000L)
+            spec.parameters.connectTimeoutMillis.set(5000L)
+            spec.parameters.readTimeoutMillis.set(30000L)
+            spec.parameters.repositoryFailureThreshold.set(settings.repositoryFailureThreshold as Integer ?: 3)
+            spec.parameters.offline.set(settings.offline as Boolean ?: false)
+        }.get()
+        services << service
+        service
+    }
+}
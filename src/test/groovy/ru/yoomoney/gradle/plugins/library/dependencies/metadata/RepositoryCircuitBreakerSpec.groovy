@@ -0,0 +1,70 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.metadata
+
+import spock.lang.Specification
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+class RepositoryCircuitBreakerSpec extends Specification {
+    private static final String REPO_URL = 'https://repo.example.org/maven2/'
+    private static final String OTHER_REPO_URL = 'https://other.example.org/maven2/'
+
+    def 'repository is disabled after threshold of consecutive failures'() {
+        given:
+        def circuitBreaker = new RepositoryCircuitBreaker(3)
+
+        expect:
+        !circuitBreaker.recordFailure(REPO_URL, 'timeout: first')
+        !circuitBreaker.recordFailure(REPO_URL, 'timeout: second')
+        !circuitBreaker.isDisabled(REPO_URL)
+        circuitBreaker.recordFailure(REPO_URL, 'timeout: third')
+        circuitBreaker.isDisabled(REPO_URL)
+    }
+
+    def 'success resets consecutive failures'() {
+        given:
+        def circuitBreaker = new RepositoryCircuitBreaker(2)
+
+        when:
+        circuitBreaker.recordFailure(REPO_URL, 'timeout: first')
+        circuitBreaker.recordSuccess(REPO_URL)
+        circuitBreaker.recordFailure(REPO_URL, 'timeout: second')
+
+        then:
+        !circuitBreaker.isDisabled(REPO_URL)
+    }
+
+    def 'failures of one repository do not disable another one'() {
+        given:
+        def circuitBreaker = new RepositoryCircuitBreaker(2)
+
+        when:
+        circuitBreaker.recordFailure(REPO_URL, 'timeout: first')
+        circuitBreaker.recordFailure(OTHER_REPO_URL, 'timeout: first')
+        circuitBreaker.recordFailure(REPO_URL, 'timeout: second')
+
+        then:
+        circuitBreaker.isDisabled(REPO_URL)
+        !circuitBreaker.isDisabled(OTHER_REPO_URL)
+    }
+
+    def 'disabled repository is reported once with the last failure'() {
+        given:
+        def circuitBreaker = new RepositoryCircuitBreaker(1)
+
+        expect:
+        circuitBreaker.recordFailure(REPO_URL, 'IOException: refused')
+        !circuitBreaker.recordFailure(REPO_URL, 'IOException: refused again')
+        circuitBreaker.getDisabledRepositories() ==
+                [(REPO_URL): '1 consecutive failures, last failure: IOException: refused']
+    }
+
+    def 'threshold must be positive'() {
+        when:
+        new RepositoryCircuitBreaker(0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
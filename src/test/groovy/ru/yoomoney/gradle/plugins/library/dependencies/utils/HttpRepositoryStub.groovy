@@ -0,0 +1,148 @@
+package ru.yoomoney.gradle.plugins.library.dependencies.utils
+
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Maven-репозиторий на локальном http-сервере, отвечающий заданными ответами и считающий обращения
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+class HttpRepositoryStub implements Closeable {
+    private final HttpServer server
+    private final Map<String, Queue<Closure<Void>>> responses = new ConcurrentHashMap<>()
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>()
+    private final Queue<Map<String, String>> requestHeaders = new ConcurrentLinkedQueue<>()
+    private final CountDownLatch released = new CountDownLatch(1)
+    private final CountDownLatch requested = new CountDownLatch(1)
+
+    HttpRepositoryStub() {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0)
+        server.executor = Executors.newCachedThreadPool()
+        server.createContext('/') { HttpExchange exchange -> handle(exchange) }
+        server.start()
+    }
+
+    /**
+     * Url репозитория
+     */
+    String getUrl() {
+        "http://${server.address.hostString}:${server.address.port}/"
+    }
+
+    /**
+     * Отвечает на запрос maven-metadata.xml списком версий
+     */
+    HttpRepositoryStub metadata(String path, List<String> versions, Map<String, String> headers = [:]) {
+        respond(path) { HttpExchange exchange -> send(exchange, 200, metadataXml(versions), headers) }
+    }
+
+    /**
+     * Отвечает на запрос заданным кодом ответа без тела
+     */
+    HttpRepositoryStub status(String path, int code) {
+        respond(path) { HttpExchange exchange -> send(exchange, code, '', [:]) }
+    }
+
+    /**
+     * Отвечает на запрос только после вызова {@link #release()}
+     */
+    HttpRepositoryStub blocked(String path, List<String> versions) {
+        respond(path) { HttpExchange exchange ->
+            requested.countDown()
+            released.await(30, TimeUnit.SECONDS)
+            send(exchange, 200, metadataXml(versions), [:])
+        }
+    }
+
+    /**
+     * Ожидает первого запроса, ответ на который задан методом {@link #blocked}
+     */
+    boolean awaitBlockedRequest() {
+        requested.await(30, TimeUnit.SECONDS)
+    }
+
+    /**
+     * Разрешает ответить на запросы, заданные методом {@link #blocked}
+     */
+    void release() {
+        released.countDown()
+    }
+
+    /**
+     * Число запросов по пути
+     */
+    int requestCount(String path) {
+        requestCounts.get(path)?.get() ?: 0
+    }
+
+    /**
+     * Число всех запросов к репозиторию
+     */
+    int totalRequestCount() {
+        requestCounts.values().sum { it.get() } as Integer ?: 0
+    }
+
+    /**
+     * Заголовки запросов в порядке их поступления
+     */
+    List<Map<String, String>> getRequestHeaders() {
+        new ArrayList<>(requestHeaders)
+    }
+
+    static String metadataXml(List<String> versions) {
+        """<?xml version="1.0" encoding="UTF-8"?>
+            <metadata>
+              <versioning>
+                <versions>
+                  ${versions.collect { "<version>$it</version>" }.join('\n')}
+                </versions>
+              </versioning>
+            </metadata>""".stripIndent()
+    }
+
+    @Override
+    void close() {
+        release()
+        server.stop(0)
+        server.executor.shutdownNow()
+    }
+
+    /**
+     * Добавляет ответ на очередной запрос по пути, последний ответ повторяется для всех следующих запросов
+     */
+    private HttpRepositoryStub respond(String path, Closure<Void> response) {
+        responses.computeIfAbsent(path) { new ConcurrentLinkedQueue<>() }.add(response)
+        this
+    }
+
+    private void handle(HttpExchange exchange) {
+        def path = exchange.requestURI.path.substring(1)
+        requestCounts.computeIfAbsent(path) { new AtomicInteger() }.incrementAndGet()
+        requestHeaders.add(exchange.requestHeaders.collectEntries { name, values -> [name.toLowerCase(), values[0]] })
+
+        def pathResponses = responses.get(path)
+        if (pathResponses == null) {
+            send(exchange, 404, '', [:])
+            return
+        }
+        def response = pathResponses.size() > 1 ? pathResponses.poll() : pathResponses.peek()
+        response.call(exchange)
+    }
+
+    private static void send(HttpExchange exchange, int code, String body, Map<String, String> headers) {
+        headers.each { name, value -> exchange.responseHeaders.add(name, value) }
+        def bytes = body.getBytes(StandardCharsets.UTF_8)
+        exchange.sendResponseHeaders(code, bytes.length == 0 ? -1 : bytes.length)
+        exchange.responseBody.withCloseable { it.write(bytes) }
+    }
+}
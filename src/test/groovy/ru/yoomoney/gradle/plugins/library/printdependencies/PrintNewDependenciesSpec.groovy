@@ -114,4 +114,113 @@ class PrintNewDependenciesSpec extends AbstractPluginSpec {
         !result.standardOutput.contains("joda-time:joda-time 1.6.2 ->")
     }
 
+    def "Print new version found by gradle without pom of the new version"() {
+        given:
+        buildFile << """
+            repositories {
+                maven { url '${createMavenRepository().toURI()}' }
+            }
+
+            checkDependencies {
+                metadataCacheDir = file('build/metadata-cache')
+            }
+
+            dependencies {
+                implementation 'test:gamma:1.0.0'
+            }
+        """.stripIndent()
+
+        when:
+        def result = runTasksSuccessfully("printNewDependencies", "--info")
+
+        then:
+        result.standardOutput.contains("New available version: test:gamma 1.0.0 -> 2.0.0")
+        result.standardOutput.contains("Latest versions resolved with gradle: 1 of 1")
+    }
+
+    def "Print new version found in maven-metadata.xml when gradle can't find it"() {
+        given:
+        buildFile << """
+            repositories {
+                maven {
+                    url '${createMavenRepository().toURI()}'
+                    // Динамическая версия test:gamma:+ не ищется gradle в этом репозитории
+                    content { includeVersionByRegex('test', 'gamma', '1\\\\.0\\\\.0') }
+                }
+            }
+
+            checkDependencies {
+                metadataCacheDir = file('build/metadata-cache')
+            }
+
+            dependencies {
+                implementation 'test:gamma:1.0.0'
+            }
+        """.stripIndent()
+
+        when:
+        def result = runTasksSuccessfully("printNewDependencies", "--info")
+
+        then:
+        result.standardOutput.contains("Latest versions resolved with gradle: 0 of 1")
+        result.standardOutput.contains("New available version: test:gamma 1.0.0 -> 2.0.0")
+    }
+
+    def "Print new version without gradle and http repositories in offline mode"() {
+        given:
+        buildFile << """
+            repositories {
+                maven { url '${createMavenRepository().toURI()}' }
+            }
+
+            checkDependencies {
+                offline = true
+                metadataCacheDir = file('build/metadata-cache')
+            }
+
+            dependencies {
+                implementation 'test:gamma:1.0.0'
+            }
+        """.stripIndent()
+
+        when:
+        def result = runTasksSuccessfully("printNewDependencies", "--info")
+
+        then:
+        result.standardOutput.contains("New available version: test:gamma 1.0.0 -> 2.0.0")
+        !result.standardOutput.contains("Latest versions resolved with gradle")
+        result.standardOutput.contains(
+                "Skipped, not cached: https://repo.maven.apache.org/maven2/test/gamma/maven-metadata.xml")
+    }
+
+    /**
+     * Создает maven-репозиторий с версиями 1.0.0, 1.1.0 и 2.0.0 библиотеки test:gamma,
+     * pom и jar есть только у версии 1.0.0
+     */
+    private File createMavenRepository() {
+        def libraryDir = new File(projectDir, 'repository/test/gamma')
+        def versionDir = new File(libraryDir, '1.0.0')
+        versionDir.mkdirs()
+        new File(libraryDir, 'maven-metadata.xml').text = """<?xml version="1.0" encoding="UTF-8"?>
+            <metadata>
+                <groupId>test</groupId>
+                <artifactId>gamma</artifactId>
+                <versioning>
+                    <versions>
+                        <version>1.0.0</version>
+                        <version>1.1.0</version>
+                        <version>2.0.0</version>
+                    </versions>
+                </versioning>
+            </metadata>""".stripIndent()
+        new File(versionDir, 'gamma-1.0.0.pom').text = """<?xml version="1.0" encoding="UTF-8"?>
+            <project xmlns="http://maven.apache.org/POM/4.0.0">
+                <modelVersion>4.0.0</modelVersion>
+                <groupId>test</groupId>
+                <artifactId>gamma</artifactId>
+                <version>1.0.0</version>
+            </project>""".stripIndent()
+        new File(versionDir, 'gamma-1.0.0.jar').bytes = new byte[0]
+        return new File(projectDir, 'repository')
+    }
 }